@@ -54,5 +54,32 @@ public interface Callback<T> {
      */
     void resolve(final T result);
 
+    /**
+     * (Service view)
+     * Returns true once the consumer of the result has cancelled the operation.
+     * Producers can poll this to stop work that nobody is waiting for.
+     *
+     * @return true if cancelled
+     */
+    default boolean isCancelled() {
+        return false;
+    }
+
+    /**
+     * (Service view)
+     * Registers a handler that runs when the consumer cancels the operation, i.e., the caller gave up,
+     * the call timed out or lost an {@code any} race.
+     * Producers use this to abort I/O.
+     * If the operation is already cancelled the handler runs right away.
+     * <p>
+     * Callbacks that do not support cancellation ignore the handler.
+     *
+     * @param handler cancel handler
+     * @return this, fluent
+     */
+    default Callback<T> onCancel(final Runnable handler) {
+        return this;
+    }
+
 
 }
@@ -77,7 +77,7 @@ public interface CallbackHandler<T> extends Consumer<T>, Callback<T> {
      * @param errorMessage error message
      */
     default void reject(final String errorMessage) {
-        reject(new RejectedPromiseException(errorMessage));
+        reject(RejectedPromiseException.rejected(errorMessage));
     }
 
 
@@ -91,7 +91,7 @@ public interface CallbackHandler<T> extends Consumer<T>, Callback<T> {
      * @param error        exception
      */
     default void reject(final String errorMessage, final Throwable error) {
-        reject(new RejectedPromiseException(errorMessage, error));
+        reject(RejectedPromiseException.rejected(errorMessage, error));
     }
 
     /**
@@ -109,7 +109,7 @@ public interface CallbackHandler<T> extends Consumer<T>, Callback<T> {
      */
     @SuppressWarnings("unused")
     default void resolve(final T result) {
-        onResult(new ResultImpl<>(result));
+        onResult(Result.result(result));
     }
 
     /**
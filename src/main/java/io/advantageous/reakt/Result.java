@@ -41,13 +41,14 @@ public interface Result<T> {
 
     /**
      * Create a result.
+     * Results for null, booleans, small numbers and empty collections are shared immutable instances.
      *
      * @param value value
      * @param <T>   T
      * @return result
      */
     static <T> Result<T> result(T value) {
-        return new ResultImpl<>(value);
+        return ResultImpl.of(value);
     }
 
     /**
@@ -0,0 +1,9 @@
+package io.advantageous.reakt.exception;
+
+
+public class BulkheadFullException extends RejectedPromiseException {
+
+    public BulkheadFullException(String message) {
+        super(message);
+    }
+}
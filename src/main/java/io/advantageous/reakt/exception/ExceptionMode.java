@@ -0,0 +1,56 @@
+package io.advantageous.reakt.exception;
+
+import java.util.Locale;
+
+/**
+ * How promises build the exceptions they create for timeouts and rejections.
+ * <p>
+ * Set with {@link #setMode(ExceptionMode)} or the {@code reakt.exceptionMode} system property.
+ */
+public enum ExceptionMode {
+
+    /**
+     * Every exception has a stack trace and a formatted message. This is the default.
+     */
+    FULL,
+
+    /**
+     * Exceptions do not fill in a stack trace and timeout messages are only formatted when read.
+     */
+    STACKLESS,
+
+    /**
+     * Like {@link #STACKLESS}, and timeouts share one preallocated instance so they do not allocate at all.
+     * The shared instance is global, so code that calls {@code addSuppressed} or {@code setStackTrace} on a
+     * timeout changes it for every other holder.
+     */
+    SHARED;
+
+    private static volatile ExceptionMode mode = parse(System.getProperty("reakt.exceptionMode"));
+
+    /**
+     * Parses a mode name ignoring case, falling back to {@link #FULL} for a missing or unknown name.
+     */
+    static ExceptionMode parse(final String name) {
+        if (name == null) {
+            return FULL;
+        }
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            return FULL;
+        }
+    }
+
+    public static ExceptionMode mode() {
+        return mode;
+    }
+
+    public static void setMode(final ExceptionMode exceptionMode) {
+        mode = exceptionMode;
+    }
+
+    public boolean fillStackTrace() {
+        return this == FULL;
+    }
+}
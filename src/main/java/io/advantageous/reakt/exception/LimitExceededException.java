@@ -0,0 +1,9 @@
+package io.advantageous.reakt.exception;
+
+
+public class LimitExceededException extends RejectedPromiseException {
+
+    public LimitExceededException(String message) {
+        super(message);
+    }
+}
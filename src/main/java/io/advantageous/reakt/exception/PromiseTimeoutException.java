@@ -0,0 +1,65 @@
+package io.advantageous.reakt.exception;
+
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Timeout of a promise. The message is formatted when it is first read, not when the timeout happens.
+ * Create with {@link #timeout(long, long, long)}, which honors the {@link ExceptionMode}.
+ */
+public class PromiseTimeoutException extends TimeoutException {
+
+    /**
+     * Returned for every timeout in {@link ExceptionMode#SHARED}.
+     * It is not immutable: {@code addSuppressed} and {@code setStackTrace} change it for every holder, and
+     * try-with-resources calls {@code addSuppressed}, so suppressed exceptions pile up on it. Callers must not
+     * modify it; use {@link ExceptionMode#STACKLESS} when timeouts can be rethrown from such blocks.
+     */
+    private static final PromiseTimeoutException SHARED = new PromiseTimeoutException(-1, -1, -1, false);
+
+    static {
+        /* Set the cause so initCause on the shared instance fails instead of changing it. */
+        SHARED.initCause(null);
+    }
+
+    private final long startTime;
+    private final long timeout;
+    private final long time;
+    private volatile String message;
+
+    private PromiseTimeoutException(final long startTime, final long timeout, final long time,
+                                    final boolean stackTrace) {
+        this.startTime = startTime;
+        this.timeout = timeout;
+        this.time = time;
+        if (stackTrace) {
+            super.fillInStackTrace();
+        }
+    }
+
+    public static TimeoutException timeout(final long startTime, final long timeout, final long time) {
+        final ExceptionMode mode = ExceptionMode.mode();
+        if (mode == ExceptionMode.SHARED) {
+            return SHARED;
+        }
+        return new PromiseTimeoutException(startTime, timeout, time, mode.fillStackTrace());
+    }
+
+    @Override
+    public String getMessage() {
+        if (startTime < 0) {
+            return "Operation timed out";
+        }
+        String theMessage = message;
+        if (theMessage == null) {
+            theMessage = String.format("Operation timed out start time %d timeout duration ms %d time %d " +
+                    "elapsed time %d", startTime, timeout, time, time - startTime);
+            message = theMessage;
+        }
+        return theMessage;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,9 @@
+package io.advantageous.reakt.exception;
+
+
+public class RateLimitedException extends RejectedPromiseException {
+
+    public RateLimitedException(String message) {
+        super(message);
+    }
+}
@@ -14,4 +14,19 @@ public class RejectedPromiseException extends RuntimeException {
     public RejectedPromiseException(Throwable cause) {
         super(cause);
     }
+
+    protected RejectedPromiseException(String message, Throwable cause, boolean writableStackTrace) {
+        super(message, cause, true, writableStackTrace);
+    }
+
+    public static RejectedPromiseException rejected(String message) {
+        return rejected(message, null);
+    }
+
+    public static RejectedPromiseException rejected(String message, Throwable cause) {
+        if (ExceptionMode.mode().fillStackTrace()) {
+            return cause == null ? new RejectedPromiseException(message) : new RejectedPromiseException(message, cause);
+        }
+        return new RejectedPromiseException(message, cause, false);
+    }
 }
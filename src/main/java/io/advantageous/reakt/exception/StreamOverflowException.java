@@ -0,0 +1,9 @@
+package io.advantageous.reakt.exception;
+
+
+public class StreamOverflowException extends RejectedStreamException {
+
+    public StreamOverflowException(String message) {
+        super(message);
+    }
+}
@@ -22,6 +22,7 @@ import io.advantageous.reakt.Expected;
 import io.advantageous.reakt.Result;
 import io.advantageous.reakt.exception.ResultFailedException;
 
+import java.util.Collections;
 import java.util.function.Consumer;
 
 /**
@@ -34,12 +35,69 @@ import java.util.function.Consumer;
  */
 public class ResultImpl<T> implements Result<T> {
 
+    private static final int INT_CACHE_LOW = -128;
+    private static final int INT_CACHE_HIGH = 1023;
+    private static final Result<?>[] INT_RESULTS = new Result<?>[INT_CACHE_HIGH - INT_CACHE_LOW + 1];
+    private static final Result<?>[] LONG_RESULTS = new Result<?>[256];
+    private static final Result<Boolean> TRUE = new ResultImpl<>(Boolean.TRUE);
+    private static final Result<Boolean> FALSE = new ResultImpl<>(Boolean.FALSE);
+    private static final Result<String> EMPTY_STRING = new ResultImpl<>("");
+    private static final Result<?> EMPTY_LIST = new ResultImpl<>(Collections.emptyList());
+    private static final Result<?> EMPTY_SET = new ResultImpl<>(Collections.emptySet());
+    private static final Result<?> EMPTY_MAP = new ResultImpl<>(Collections.emptyMap());
+
+    static {
+        for (int index = 0; index < INT_RESULTS.length; index++) {
+            INT_RESULTS[index] = new ResultImpl<>(index + INT_CACHE_LOW);
+        }
+        for (int index = 0; index < LONG_RESULTS.length; index++) {
+            LONG_RESULTS[index] = new ResultImpl<>((long) index - 128);
+        }
+    }
+
     private final Object object;
 
     public ResultImpl(final Object object) {
         this.object = object;
     }
 
+    /**
+     * Returns a successful result, using a shared immutable instance for null, booleans, small integers and
+     * longs, the empty string and the empty collections from {@link Collections}.
+     *
+     * @param value value
+     * @param <T>   type of value
+     * @return result
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Result<T> of(final T value) {
+        if (value == null) {
+            return (Result<T>) Result.DONE;
+        }
+        final Result<?> cached;
+        if (value instanceof Integer) {
+            final int intValue = (Integer) value;
+            cached = intValue >= INT_CACHE_LOW && intValue <= INT_CACHE_HIGH
+                    ? INT_RESULTS[intValue - INT_CACHE_LOW] : null;
+        } else if (value instanceof Boolean) {
+            cached = (Boolean) value ? TRUE : FALSE;
+        } else if (value instanceof Long) {
+            final long longValue = (Long) value;
+            cached = longValue >= -128 && longValue <= 127 ? LONG_RESULTS[(int) longValue + 128] : null;
+        } else if (value instanceof String) {
+            cached = ((String) value).isEmpty() ? EMPTY_STRING : null;
+        } else if (value == Collections.EMPTY_LIST) {
+            cached = EMPTY_LIST;
+        } else if (value == Collections.EMPTY_SET) {
+            cached = EMPTY_SET;
+        } else if (value == Collections.EMPTY_MAP) {
+            cached = EMPTY_MAP;
+        } else {
+            cached = null;
+        }
+        return cached != null ? (Result<T>) cached : new ResultImpl<>(value);
+    }
+
     @Override
     public Result<T> thenExpect(final Consumer<Expected<T>> consumer) {
         if (success()) consumer.accept(expect());
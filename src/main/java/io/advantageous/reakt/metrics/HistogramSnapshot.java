@@ -0,0 +1,114 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.metrics;
+
+/**
+ * Immutable copy of a {@link LatencyHistogram}.
+ *
+ * @author Rick Hightower
+ */
+public class HistogramSnapshot {
+
+    private final long[] counts;
+    private final long count;
+    private final long sum;
+    private final long min;
+    private final long max;
+
+    public HistogramSnapshot(final long[] counts, final long count, final long sum, final long min, final long max) {
+        this.counts = counts;
+        this.count = count;
+        this.sum = sum;
+        this.min = min;
+        this.max = max;
+    }
+
+    /**
+     * @return number of values recorded
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * @return sum of values recorded
+     */
+    public long sum() {
+        return sum;
+    }
+
+    /**
+     * @return lowest value recorded, 0 if none
+     */
+    public long min() {
+        return min;
+    }
+
+    /**
+     * @return highest value recorded
+     */
+    public long max() {
+        return max;
+    }
+
+    /**
+     * @return mean of values recorded, 0 if none
+     */
+    public double mean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * Value at a percentile. The value is the highest value of the bucket the percentile falls in,
+     * capped at the max recorded value.
+     *
+     * @param percentile percentile from 0 to 100, i.e., 99.9
+     * @return value at percentile, 0 if no values were recorded
+     */
+    public long valueAtPercentile(final double percentile) {
+        long total = 0;
+        for (long bucketCount : counts) {
+            total += bucketCount;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int index = 0; index < counts.length; index++) {
+            seen += counts[index];
+            if (seen >= rank) {
+                return Math.min(LatencyHistogram.bucketUpperBound(index), max);
+            }
+        }
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return "HistogramSnapshot{" +
+                "count=" + count +
+                ", min=" + min +
+                ", mean=" + (long) mean() +
+                ", p50=" + valueAtPercentile(50) +
+                ", p99=" + valueAtPercentile(99) +
+                ", max=" + max +
+                '}';
+    }
+}
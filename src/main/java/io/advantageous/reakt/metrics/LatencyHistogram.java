@@ -0,0 +1,129 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free, fixed memory histogram of long values such as latencies in nanoseconds.
+ * <p>
+ * Values are counted in log-linear buckets: each power of two is split in {@code 16} sub buckets, so a
+ * recorded value is reported within about 6% of its real value. The histogram uses the same
+ * {@value #BUCKET_COUNT} counters no matter how many values are recorded.
+ * <p>
+ * Recording is a few atomic increments. {@link #snapshot()} copies the counters without stopping recorders,
+ * so a snapshot taken while values are recorded may be off by the values recorded during the copy.
+ *
+ * @author Rick Hightower
+ */
+public class LatencyHistogram {
+
+    /**
+     * Number of sub buckets per power of two is {@code 1 << SUB_BUCKET_BITS}.
+     */
+    public static final int SUB_BUCKET_BITS = 4;
+
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Number of buckets needed to cover all positive long values.
+     */
+    public static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+
+    /**
+     * Finds the bucket of a value. Negative values go in the first bucket.
+     *
+     * @param value value
+     * @return index of bucket
+     */
+    public static int bucketIndex(final long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return value < 0 ? 0 : (int) value;
+        }
+        final int exponent = 63 - Long.numberOfLeadingZeros(value);
+        final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * Lowest value that falls in a bucket.
+     *
+     * @param index index of bucket
+     * @return lowest value of the bucket
+     */
+    public static long bucketLowerBound(final int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        final int exponent = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+        final long subBucket = index % SUB_BUCKET_COUNT;
+        return (SUB_BUCKET_COUNT + subBucket) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    /**
+     * Highest value that falls in a bucket.
+     *
+     * @param index index of bucket
+     * @return highest value of the bucket
+     */
+    public static long bucketUpperBound(final int index) {
+        return index + 1 >= BUCKET_COUNT ? Long.MAX_VALUE : bucketLowerBound(index + 1) - 1;
+    }
+
+    /**
+     * Records a value.
+     *
+     * @param value value to record
+     */
+    public void record(final long value) {
+        counts.incrementAndGet(bucketIndex(value));
+        count.incrementAndGet();
+        sum.addAndGet(value);
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+        current = min.get();
+        while (value < current && !min.compareAndSet(current, value)) {
+            current = min.get();
+        }
+    }
+
+    /**
+     * Copies the histogram without pausing recorders.
+     *
+     * @return snapshot
+     */
+    public HistogramSnapshot snapshot() {
+        final long[] copy = new long[BUCKET_COUNT];
+        for (int index = 0; index < BUCKET_COUNT; index++) {
+            copy[index] = counts.get(index);
+        }
+        final long theCount = count.get();
+        return new HistogramSnapshot(copy, theCount, sum.get(),
+                theCount == 0 ? 0 : min.get(), max.get());
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.metrics;
+
+import io.advantageous.reakt.metrics.impl.PromiseMetricsImpl;
+import io.advantageous.reakt.promise.PromiseHandler;
+
+import java.util.Map;
+
+/**
+ * Registry of {@link PromiseStats} by promise name.
+ * <p>
+ * Named promises, i.e., {@code Promises.promise("lookupEmployee")}, record into the shared registry
+ * returned by {@link #metrics()}. Promises without a name are not recorded.
+ *
+ * @author Rick Hightower
+ */
+public interface PromiseMetrics {
+
+    /**
+     * Shared registry used by named promises.
+     *
+     * @return promise metrics
+     */
+    static PromiseMetrics metrics() {
+        return PromiseMetricsImpl.SHARED;
+    }
+
+    /**
+     * Gets or creates the stats of a name.
+     *
+     * @param name name of the promise
+     * @return stats
+     */
+    PromiseStats stats(String name);
+
+    /**
+     * Records the latency and outcome of the promise under the name.
+     *
+     * @param name    name of the promise
+     * @param promise promise to track
+     * @param <T>     type of result
+     * @return the promise, fluent
+     */
+    default <T> PromiseHandler<T> track(final String name, final PromiseHandler<T> promise) {
+        return stats(name).track(promise);
+    }
+
+    /**
+     * Copies all stats without pausing recorders.
+     *
+     * @return snapshots by name
+     */
+    Map<String, PromiseStatsSnapshot> snapshot();
+}
@@ -0,0 +1,102 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.metrics;
+
+import io.advantageous.reakt.promise.PromiseHandler;
+
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and outcome counts for one named kind of promise, i.e., {@code "lookupEmployee"}.
+ * <p>
+ * Latency is measured in nanoseconds from when the promise is tracked (created) to when its completion
+ * handlers run. Reactor promises record when their result arrives instead, so the wait for the next
+ * reactor process is not counted.
+ *
+ * @author Rick Hightower
+ */
+public class PromiseStats {
+
+    private final String name;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    public PromiseStats(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * Starts the clock for a promise and records its outcome when it completes.
+     *
+     * @param promise promise to track
+     * @param <T>     type of result
+     * @return the promise, fluent
+     */
+    public <T> PromiseHandler<T> track(final PromiseHandler<T> promise) {
+        final long startTime = System.nanoTime();
+        promise.whenComplete(completed -> record(System.nanoTime() - startTime, completed));
+        return promise;
+    }
+
+    /**
+     * Records the latency and outcome of a completed promise.
+     *
+     * @param nanos     latency in nanoseconds
+     * @param completed completed promise
+     */
+    public void record(final long nanos, final PromiseHandler<?> completed) {
+        latency.record(nanos);
+        if (completed.success()) {
+            successes.increment();
+        } else if (completed.cause() instanceof TimeoutException) {
+            timeouts.increment();
+        } else {
+            failures.increment();
+        }
+    }
+
+    /**
+     * Records the latency of a promise that timed out.
+     *
+     * @param nanos latency in nanoseconds
+     */
+    public void recordTimeout(final long nanos) {
+        latency.record(nanos);
+        timeouts.increment();
+    }
+
+    /**
+     * @return name of the promise
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Copies the stats without pausing recorders.
+     *
+     * @return snapshot
+     */
+    public PromiseStatsSnapshot snapshot() {
+        return new PromiseStatsSnapshot(name, successes.sum(), failures.sum(), timeouts.sum(), latency.snapshot());
+    }
+}
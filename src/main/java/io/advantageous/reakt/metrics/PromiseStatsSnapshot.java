@@ -0,0 +1,91 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.metrics;
+
+/**
+ * Immutable copy of {@link PromiseStats}.
+ *
+ * @author Rick Hightower
+ */
+public class PromiseStatsSnapshot {
+
+    private final String name;
+    private final long successes;
+    private final long failures;
+    private final long timeouts;
+    private final HistogramSnapshot latency;
+
+    public PromiseStatsSnapshot(final String name,
+                                final long successes,
+                                final long failures,
+                                final long timeouts,
+                                final HistogramSnapshot latency) {
+        this.name = name;
+        this.successes = successes;
+        this.failures = failures;
+        this.timeouts = timeouts;
+        this.latency = latency;
+    }
+
+    /**
+     * @return name of the promise
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * @return number of promises resolved
+     */
+    public long successes() {
+        return successes;
+    }
+
+    /**
+     * @return number of promises rejected, not counting timeouts
+     */
+    public long failures() {
+        return failures;
+    }
+
+    /**
+     * @return number of promises that timed out
+     */
+    public long timeouts() {
+        return timeouts;
+    }
+
+    /**
+     * @return creation to completion latency in nanoseconds
+     */
+    public HistogramSnapshot latency() {
+        return latency;
+    }
+
+    @Override
+    public String toString() {
+        return "PromiseStatsSnapshot{" +
+                "name='" + name + '\'' +
+                ", successes=" + successes +
+                ", failures=" + failures +
+                ", timeouts=" + timeouts +
+                ", latency=" + latency +
+                '}';
+    }
+}
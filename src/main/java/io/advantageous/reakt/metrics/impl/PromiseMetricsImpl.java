@@ -0,0 +1,53 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.metrics.impl;
+
+import io.advantageous.reakt.metrics.PromiseMetrics;
+import io.advantageous.reakt.metrics.PromiseStats;
+import io.advantageous.reakt.metrics.PromiseStatsSnapshot;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Promise metrics registry.
+ *
+ * @author Rick Hightower
+ */
+public class PromiseMetricsImpl implements PromiseMetrics {
+
+    public static final PromiseMetrics SHARED = new PromiseMetricsImpl();
+
+    private final ConcurrentMap<String, PromiseStats> statsMap = new ConcurrentHashMap<>();
+
+    @Override
+    public PromiseStats stats(final String name) {
+        final PromiseStats stats = statsMap.get(name);
+        return stats != null ? stats : statsMap.computeIfAbsent(name, PromiseStats::new);
+    }
+
+    @Override
+    public Map<String, PromiseStatsSnapshot> snapshot() {
+        final Map<String, PromiseStatsSnapshot> snapshots = new TreeMap<>();
+        statsMap.forEach((name, stats) -> snapshots.put(name, stats.snapshot()));
+        return snapshots;
+    }
+}
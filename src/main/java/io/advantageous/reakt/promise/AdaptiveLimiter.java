@@ -0,0 +1,110 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.promise;
+
+import io.advantageous.reakt.Callback;
+import io.advantageous.reakt.promise.impl.AdaptiveLimiterImpl;
+import io.advantageous.reakt.reactor.TimeSource;
+
+import java.util.function.Consumer;
+
+/**
+ * Adaptive concurrency limiter for invokable promises.
+ * <p>
+ * The limiter measures the round trip time of every promise it admits and adjusts the concurrency limit
+ * with a {@link LimitAlgorithm}. Invocations over the current limit are not queued, they are rejected right away
+ * with a {@link io.advantageous.reakt.exception.LimitExceededException}.
+ * <p>
+ * A call that fails with a {@code TimeoutException} counts as a dropped call.
+ * The current limit and the round trip times are exposed for monitoring.
+ *
+ * @author Rick Hightower
+ */
+public interface AdaptiveLimiter {
+
+    /**
+     * Creates an adaptive limiter that measures round trip time in nanoseconds.
+     *
+     * @param algorithm    algorithm used to compute the limit
+     * @param initialLimit starting limit
+     * @return adaptive limiter
+     */
+    static AdaptiveLimiter adaptiveLimiter(final LimitAlgorithm algorithm, final int initialLimit) {
+        return adaptiveLimiter(algorithm, initialLimit, System::nanoTime);
+    }
+
+    /**
+     * Creates an adaptive limiter.
+     *
+     * @param algorithm    algorithm used to compute the limit
+     * @param initialLimit starting limit
+     * @param timeSource   time source used to measure round trip time
+     * @return adaptive limiter
+     */
+    static AdaptiveLimiter adaptiveLimiter(final LimitAlgorithm algorithm,
+                                           final int initialLimit,
+                                           final TimeSource timeSource) {
+        return new AdaptiveLimiterImpl(algorithm, initialLimit, timeSource);
+    }
+
+    /**
+     * Wraps an invokable promise so that invoking it goes through this limiter.
+     *
+     * @param promise invokable promise
+     * @param <T>     type of result
+     * @return new invokable promise
+     */
+    <T> Promise<T> wrap(Promise<T> promise);
+
+    /**
+     * Create an invokable promise that goes through this limiter.
+     *
+     * @param callbackConsumer promise consumer so you can call reject or resolve on the service side
+     * @param <T>              type of result
+     * @return new invokable promise
+     */
+    default <T> Promise<T> deferCall(final Consumer<Callback<T>> callbackConsumer) {
+        return wrap(Promises.deferCall(callbackConsumer));
+    }
+
+    /**
+     * @return current concurrency limit
+     */
+    int limit();
+
+    /**
+     * @return number of calls in flight
+     */
+    int inFlight();
+
+    /**
+     * @return lowest round trip time seen, in time source units
+     */
+    long minRtt();
+
+    /**
+     * @return exponentially smoothed round trip time, in time source units
+     */
+    long smoothedRtt();
+
+    /**
+     * @return number of calls rejected because the limit was reached
+     */
+    long rejected();
+}
@@ -0,0 +1,105 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.promise;
+
+import io.advantageous.reakt.Callback;
+import io.advantageous.reakt.Expected;
+import io.advantageous.reakt.promise.impl.BulkheadImpl;
+import io.advantageous.reakt.reactor.Reactor;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * A bulkhead caps the number of concurrent in flight calls to a dependency.
+ * <p>
+ * Invokable promises are wrapped by the bulkhead. When a wrapped promise is invoked and the bulkhead
+ * is at its limit, the invocation waits in a bounded FIFO queue and is invoked when an earlier call completes.
+ * If the queue is full, the promise is rejected right away with a
+ * {@link io.advantageous.reakt.exception.BulkheadFullException}.
+ * No caller thread is ever blocked.
+ * <p>
+ * A bulkhead that is created with a {@link Reactor} uses the reactor's time source and rejects queued
+ * invocations with a {@code TimeoutException} once they have waited longer than the timeout, so the time
+ * spent in the queue counts toward the promise timeout.
+ *
+ * @author Rick Hightower
+ */
+public interface Bulkhead {
+
+    /**
+     * Creates a bulkhead.
+     *
+     * @param maxConcurrent max number of calls in flight
+     * @param maxQueued     max number of calls waiting for a permit
+     * @return a bulkhead
+     */
+    static Bulkhead bulkhead(final int maxConcurrent, final int maxQueued) {
+        return new BulkheadImpl(maxConcurrent, maxQueued, Expected.empty(), Duration.ZERO);
+    }
+
+    /**
+     * Creates a bulkhead whose queued calls are timed out by the reactor.
+     *
+     * @param maxConcurrent max number of calls in flight
+     * @param maxQueued     max number of calls waiting for a permit
+     * @param reactor       reactor that supplies the time and checks for queued calls that timed out
+     * @param timeout       max time a call can wait in the queue
+     * @return a bulkhead
+     */
+    static Bulkhead bulkhead(final int maxConcurrent, final int maxQueued,
+                             final Reactor reactor, final Duration timeout) {
+        return new BulkheadImpl(maxConcurrent, maxQueued, Expected.of(reactor), timeout);
+    }
+
+    /**
+     * Wraps an invokable promise so that invoking it goes through this bulkhead.
+     *
+     * @param promise invokable promise
+     * @param <T>     type of result
+     * @return new invokable promise
+     */
+    <T> Promise<T> wrap(Promise<T> promise);
+
+    /**
+     * Create an invokable promise that goes through this bulkhead.
+     *
+     * @param callbackConsumer promise consumer so you can call reject or resolve on the service side
+     * @param <T>              type of result
+     * @return new invokable promise
+     */
+    default <T> Promise<T> deferCall(final Consumer<Callback<T>> callbackConsumer) {
+        return wrap(Promises.deferCall(callbackConsumer));
+    }
+
+    /**
+     * @return number of calls in flight
+     */
+    int inFlight();
+
+    /**
+     * @return number of calls waiting for a permit
+     */
+    int queued();
+
+    /**
+     * @return number of calls that were rejected because the queue was full
+     */
+    long rejected();
+}
@@ -0,0 +1,118 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.promise;
+
+import io.advantageous.reakt.promise.impl.KeyedRateLimiterImpl;
+import io.advantageous.reakt.reactor.Reactor;
+
+import java.time.Duration;
+
+/**
+ * Token bucket rate limiter with one bucket per key, i.e., per tenant or per downstream host.
+ * <p>
+ * Buckets are kept in an open addressed table of primitive arrays so many thousands of keys stay compact.
+ * A bucket that has refilled to its full burst is the same as a new bucket, so full buckets are dropped when
+ * the table grows.
+ * <p>
+ * A call only takes a token right away when no call is waiting for the same key, so queued calls keep their turn.
+ *
+ * @param <K> type of key
+ * @author Rick Hightower
+ */
+public interface KeyedRateLimiter<K> {
+
+    /**
+     * Creates a keyed rate limiter.
+     *
+     * @param reactor          reactor that supplies the clock and releases queued calls
+     * @param permitsPerSecond refill rate of each bucket
+     * @param burst            capacity of each bucket
+     * @param maxQueued        max number of calls waiting for a token across all keys
+     * @param <K>              type of key
+     * @return keyed rate limiter
+     */
+    static <K> KeyedRateLimiter<K> keyedRateLimiter(final Reactor reactor,
+                                                    final double permitsPerSecond,
+                                                    final int burst,
+                                                    final int maxQueued) {
+        return keyedRateLimiter(reactor, permitsPerSecond, burst, maxQueued, Duration.ofSeconds(30));
+    }
+
+    /**
+     * Creates a keyed rate limiter.
+     * Queued calls that wait longer than the timeout, by the reactor's time source, fail with a
+     * {@code TimeoutException}.
+     *
+     * @param reactor          reactor that supplies the clock and releases queued calls
+     * @param permitsPerSecond refill rate of each bucket
+     * @param burst            capacity of each bucket
+     * @param maxQueued        max number of calls waiting for a token across all keys
+     * @param timeout          max time a call can wait in the queue
+     * @param <K>              type of key
+     * @return keyed rate limiter
+     */
+    static <K> KeyedRateLimiter<K> keyedRateLimiter(final Reactor reactor,
+                                                    final double permitsPerSecond,
+                                                    final int burst,
+                                                    final int maxQueued,
+                                                    final Duration timeout) {
+        return new KeyedRateLimiterImpl<>(reactor, permitsPerSecond, burst, maxQueued, timeout);
+    }
+
+    /**
+     * Wraps an invokable promise so that invoking it takes a token from the bucket of the key.
+     *
+     * @param key     key of the bucket
+     * @param promise invokable promise
+     * @param <T>     type of result
+     * @return new invokable promise
+     */
+    <T> Promise<T> wrap(K key, Promise<T> promise);
+
+    /**
+     * Takes a token from the bucket of the key if one is available and no call is waiting for the key.
+     *
+     * @param key key of the bucket
+     * @return true if a token was taken
+     */
+    boolean tryAcquire(K key);
+
+    /**
+     * View of a single bucket.
+     *
+     * @param key key of the bucket
+     * @return rate limiter for the key
+     */
+    RateLimiter forKey(K key);
+
+    /**
+     * @return number of buckets held
+     */
+    int buckets();
+
+    /**
+     * @return number of calls waiting for a token
+     */
+    int queued();
+
+    /**
+     * @return number of calls rejected because the queue was full
+     */
+    long rejected();
+}
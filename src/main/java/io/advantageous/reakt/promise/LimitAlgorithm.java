@@ -0,0 +1,94 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.promise;
+
+import io.advantageous.reakt.promise.impl.AimdLimit;
+import io.advantageous.reakt.promise.impl.GradientLimit;
+
+/**
+ * Algorithm used by an {@link AdaptiveLimiter} to compute a new concurrency limit from a round trip sample.
+ * <p>
+ * Implementations are called by the limiter one sample at a time so they do not need to be thread safe.
+ *
+ * @author Rick Hightower
+ */
+public interface LimitAlgorithm {
+
+    /**
+     * Additive increase, multiplicative decrease.
+     * The limit grows by one per successful sample while the limit is in use, and is cut by
+     * {@code backoffRatio} when a call times out.
+     *
+     * @param minLimit     lowest limit
+     * @param maxLimit     highest limit
+     * @param backoffRatio ratio applied to the limit when a call times out, i.e., 0.9
+     * @return AIMD algorithm
+     */
+    static LimitAlgorithm aimd(final int minLimit, final int maxLimit, final double backoffRatio) {
+        return new AimdLimit(minLimit, maxLimit, backoffRatio);
+    }
+
+    /**
+     * AIMD with a backoff ratio of 0.9.
+     *
+     * @param minLimit lowest limit
+     * @param maxLimit highest limit
+     * @return AIMD algorithm
+     */
+    static LimitAlgorithm aimd(final int minLimit, final int maxLimit) {
+        return aimd(minLimit, maxLimit, 0.9);
+    }
+
+    /**
+     * Gradient algorithm.
+     * Compares a short term round trip time to a long term average. When latency goes up the limit
+     * goes down in proportion, and when latency is at or under the long term average the limit grows by
+     * the square root of the limit.
+     *
+     * @param minLimit  lowest limit
+     * @param maxLimit  highest limit
+     * @param tolerance how much latency can grow over the long term average before the limit is reduced, i.e., 1.5
+     * @return gradient algorithm
+     */
+    static LimitAlgorithm gradient(final int minLimit, final int maxLimit, final double tolerance) {
+        return new GradientLimit(minLimit, maxLimit, tolerance);
+    }
+
+    /**
+     * Gradient algorithm with a tolerance of 1.5.
+     *
+     * @param minLimit lowest limit
+     * @param maxLimit highest limit
+     * @return gradient algorithm
+     */
+    static LimitAlgorithm gradient(final int minLimit, final int maxLimit) {
+        return gradient(minLimit, maxLimit, 1.5);
+    }
+
+    /**
+     * Computes the new limit.
+     *
+     * @param limit    current limit
+     * @param rtt      round trip time of the call that just completed
+     * @param inFlight calls in flight when the call was started
+     * @param dropped  true if the call timed out
+     * @return new limit
+     */
+    int update(int limit, long rtt, int inFlight, boolean dropped);
+}
@@ -153,4 +153,24 @@ public interface Promise<T> {
         return (PromiseHandler<T>) this;
     }
 
+    /**
+     * Cancels the operation behind this promise.
+     * <p>
+     * The promise is rejected with a {@link java.util.concurrent.CancellationException} and
+     * the cancellation propagates to the producer and to child promises of {@code thenMap}, {@code all} and
+     * {@code any}.
+     *
+     * @return true if this call cancelled the promise, false if it was already complete
+     */
+    default boolean cancel() {
+        return asHandler().cancel();
+    }
+
+    /**
+     * @return true if this promise was cancelled
+     */
+    default boolean isCancelled() {
+        return asHandler().isCancelled();
+    }
+
 }
@@ -20,9 +20,12 @@ package io.advantageous.reakt.promise;
 
 import io.advantageous.reakt.*;
 import io.advantageous.reakt.promise.impl.BasePromise;
+import io.advantageous.reakt.reactor.Deadline;
 import io.advantageous.reakt.reactor.Reactor;
 
 import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -149,6 +152,69 @@ public interface PromiseHandler<T> extends CallbackHandler<T>, Result<T>, Promis
         throw new UnsupportedOperationException("This is not an invokable promise.");
     }
 
+    /**
+     * Invokes the operation on the given executor instead of the calling thread.
+     * <p>
+     * Use this for CPU heavy work so that it does not stall a reactor thread.
+     * Combine with {@link #invokeWithReactor(Reactor)} via
+     * {@link Promises#deferCall(Executor, Consumer)} to have the result replayed on the reactor.
+     *
+     * Exceptions thrown by the invocation, or by an executor that refuses the task, reject this promise.
+     *
+     * @param executor executor that performs the invocation
+     * @return this, fluent
+     */
+    default PromiseHandler<T> invokeOn(Executor executor) {
+        if (!isInvokable()) {
+            throw new UnsupportedOperationException("This is not an invokable promise.");
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    invoke();
+                } catch (Exception ex) {
+                    if (!complete()) {
+                        reject(ex);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            reject(ex);
+        }
+        return this;
+    }
+
+    /**
+     * Cancels this promise, see {@link Promise#cancel()}.
+     * Promises that do not support cancellation return false.
+     *
+     * @return true if this call cancelled the promise
+     */
+    @Override
+    default boolean cancel() {
+        return false;
+    }
+
+    @Override
+    default boolean isCancelled() {
+        return false;
+    }
+
+    @Override
+    default PromiseHandler<T> onCancel(Runnable handler) {
+        return this;
+    }
+
+    /**
+     * Deadline this promise was created under, see {@link Reactor#withDeadline(Duration, Runnable)}.
+     * Query it to skip work when the time is up.
+     *
+     * @return deadline, or empty if the promise has none
+     */
+    default Expected<Deadline> deadline() {
+        return Expected.empty();
+    }
+
 
     /**
      * Allows you to pass an existing promise as a handler.
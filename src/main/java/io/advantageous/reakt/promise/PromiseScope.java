@@ -0,0 +1,117 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.promise;
+
+import io.advantageous.reakt.Callback;
+import io.advantageous.reakt.Expected;
+import io.advantageous.reakt.promise.impl.PromiseScopeImpl;
+import io.advantageous.reakt.reactor.Reactor;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * A promise scope owns the child promises of a fan out, i.e., the calls made to serve one request.
+ * <p>
+ * The promise returned from {@link #close()} resolves when every child has completed.
+ * The first child that fails, or the scope deadline, rejects it and cancels the children that are still
+ * running, so they can stop their work. Children added after the scope has failed are cancelled right away.
+ * <p>
+ * The scope only holds on to children that are still running, so the memory held for a request stays bounded
+ * even when some calls fail, and is released once the scope completes.
+ * <pre>
+ * <code>
+ *     final PromiseScope scope = PromiseScope.promiseScope(reactor, Duration.ofSeconds(2));
+ *     employeeService.lookupEmployee(id).invokeWithPromise(scope.promise());
+ *     scope.deferCall(callback -&gt; auditService.audit(id, callback)).invoke();
+ *     scope.close().then(v -&gt; ...).catchError(error -&gt; ...);
+ * </code>
+ * </pre>
+ *
+ * @author Rick Hightower
+ */
+public interface PromiseScope {
+
+    /**
+     * Creates a scope without a deadline.
+     *
+     * @return new scope
+     */
+    static PromiseScope promiseScope() {
+        return new PromiseScopeImpl(Expected.empty(), Duration.ZERO);
+    }
+
+    /**
+     * Creates a scope that fails with a {@code TimeoutException} if it has not completed by the deadline.
+     *
+     * @param reactor  reactor that runs the deadline
+     * @param deadline time from now until the scope times out
+     * @return new scope
+     */
+    static PromiseScope promiseScope(final Reactor reactor, final Duration deadline) {
+        return new PromiseScopeImpl(Expected.of(reactor), deadline);
+    }
+
+    /**
+     * Creates a child promise owned by this scope.
+     *
+     * @param <T> type of result
+     * @return new child promise
+     */
+    <T> Promise<T> promise();
+
+    /**
+     * Adds an existing promise to this scope.
+     *
+     * @param promise child promise
+     * @param <T>     type of result
+     * @return the promise, fluent
+     */
+    <T> Promise<T> add(Promise<T> promise);
+
+    /**
+     * Creates an invokable child promise owned by this scope.
+     *
+     * @param callbackConsumer promise consumer so you can call reject or resolve on the service side
+     * @param <T>              type of result
+     * @return new child promise, call invoke() to run it
+     */
+    default <T> Promise<T> deferCall(final Consumer<Callback<T>> callbackConsumer) {
+        return add(Promises.deferCall(callbackConsumer));
+    }
+
+    /**
+     * Stops this scope from waiting for more children.
+     * The returned promise completes once all children have completed, or fails on the first child failure
+     * or the deadline. Cancelling it cancels the children.
+     *
+     * @return promise that completes with the scope
+     */
+    Promise<Void> close();
+
+    /**
+     * Cancels all running children and fails the scope.
+     */
+    void cancel();
+
+    /**
+     * @return number of children that are still running
+     */
+    int active();
+}
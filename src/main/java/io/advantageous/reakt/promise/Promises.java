@@ -19,14 +19,23 @@
 package io.advantageous.reakt.promise;
 
 import io.advantageous.reakt.Callback;
+import io.advantageous.reakt.Expected;
+import io.advantageous.reakt.Result;
+import io.advantageous.reakt.metrics.PromiseMetrics;
 import io.advantageous.reakt.promise.impl.*;
+import io.advantageous.reakt.reactor.TimeSource;
 
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Utility methods for creating promises.
@@ -47,6 +56,111 @@ public interface Promises {
         return new BasePromise<>();
     }
 
+    /**
+     * Create a promise that supports many subscribers.
+     * Each then(...), catchError(...) and whenComplete(...) adds a subscriber instead of replacing the last one,
+     * and subscribers that come after the result are called right away.
+     * Use this to share one promise, i.e., a config load, with many callers.
+     *
+     * @param <T> type of result
+     * @return new promise
+     */
+    static <T> Promise<T> multicastPromise() {
+        return new MulticastPromise<>();
+    }
+
+    /**
+     * Create a lazy promise.
+     * The supplier runs the first time a handler is registered, invoke() or blockingGet() is called,
+     * and every later handler gets the same result. If nobody asks, the supplier never runs.
+     *
+     * @param supplier computes the result
+     * @param <T>      type of result
+     * @return new lazy promise
+     */
+    static <T> Promise<T> lazyPromise(final Supplier<T> supplier) {
+        return new LazyPromise<>(callback -> callback.resolve(supplier.get()));
+    }
+
+    /**
+     * Create a lazy promise whose result expires.
+     * After the result is older than the time to live, the next handler runs the supplier again.
+     *
+     * @param supplier   computes the result
+     * @param timeSource time source, i.e., {@code reactor.timeSource()}
+     * @param timeToLive how long the result is kept
+     * @param <T>        type of result
+     * @return new lazy promise
+     */
+    static <T> Promise<T> lazyPromise(final Supplier<T> supplier, final TimeSource timeSource,
+                                      final Duration timeToLive) {
+        return new LazyPromise<>(callback -> callback.resolve(supplier.get()), timeSource, timeToLive);
+    }
+
+    /**
+     * Create a lazy promise from an async call.
+     * The callback consumer runs the first time a handler is registered, invoke() or blockingGet() is called,
+     * and every later handler gets the same result.
+     *
+     * @param callbackConsumer promise consumer so you can call reject or resolve on the service side
+     * @param <T>              type of result
+     * @return new lazy promise
+     */
+    static <T> Promise<T> lazyCall(final Consumer<Callback<T>> callbackConsumer) {
+        return new LazyPromise<>(callbackConsumer);
+    }
+
+    /**
+     * Create a lazy promise from an async call whose result expires.
+     *
+     * @param callbackConsumer promise consumer so you can call reject or resolve on the service side
+     * @param timeSource       time source, i.e., {@code reactor.timeSource()}
+     * @param timeToLive       how long the result is kept
+     * @param <T>              type of result
+     * @return new lazy promise
+     */
+    static <T> Promise<T> lazyCall(final Consumer<Callback<T>> callbackConsumer, final TimeSource timeSource,
+                                   final Duration timeToLive) {
+        return new LazyPromise<>(callbackConsumer, timeSource, timeToLive);
+    }
+
+    /**
+     * Create a promise that is already resolved with the value.
+     * Handlers run right away when they are registered. Promises for null and booleans are shared constants.
+     *
+     * @param value value
+     * @param <T>   type of result
+     * @return resolved promise
+     */
+    static <T> Promise<T> resolved(final T value) {
+        return CompletedPromise.resolved(value);
+    }
+
+    /**
+     * Create a promise that is already rejected with the cause.
+     * Handlers run right away when they are registered.
+     *
+     * @param cause cause
+     * @param <T>   type of result
+     * @return rejected promise
+     */
+    static <T> Promise<T> rejected(final Throwable cause) {
+        return CompletedPromise.rejected(cause);
+    }
+
+    /**
+     * Create a named promise.
+     * The time from creation to completion, and whether the promise succeeded, failed or timed out, is
+     * recorded under the name in {@link io.advantageous.reakt.metrics.PromiseMetrics#metrics()}.
+     *
+     * @param name name of the promise, i.e., {@code "lookupEmployee"}
+     * @param <T>  type of result
+     * @return new promise
+     */
+    static <T> Promise<T> promise(final String name) {
+        return PromiseMetrics.metrics().track(name, new BasePromise<>());
+    }
+
     /**
      * All promises must complete.
      *
@@ -68,6 +182,79 @@ public interface Promises {
         return all(promises.toArray(new Promise[promises.size()]));
     }
 
+    /**
+     * Maps every item through the mapper with at most {@code parallelism} calls in flight, and passes the
+     * results to the consumer in the order of the items.
+     * The next item is only pulled from the iterable when a call completes, and at most {@code parallelism}
+     * results wait to be put back in order, so memory is bounded by the parallelism and not the input size.
+     * <p>
+     * Completions can come from any thread. The consumer is never called concurrently.
+     * The returned promise is invokable, register its handlers and call invoke() to start.
+     * It resolves after the last result, or is rejected on the first failure, which cancels the calls in flight.
+     *
+     * @param items          items
+     * @param mapper         async function, invokable promises it returns are invoked
+     * @param parallelism    max calls in flight
+     * @param resultConsumer receives the results
+     * @param <T>            type of item
+     * @param <R>            type of result
+     * @return invokable promise that completes when all items are mapped
+     */
+    static <T, R> Promise<Void> mapAsync(final Iterable<? extends T> items,
+                                         final Function<? super T, ? extends Promise<R>> mapper,
+                                         final int parallelism,
+                                         final Consumer<? super R> resultConsumer) {
+        return new MapAsync<>(items, mapper, parallelism, true, resultConsumer, Expected.empty());
+    }
+
+    /**
+     * Like {@link #mapAsync(Iterable, Function, int, Consumer)}, but results are passed to the consumer as soon
+     * as they arrive.
+     *
+     * @param items          items
+     * @param mapper         async function, invokable promises it returns are invoked
+     * @param parallelism    max calls in flight
+     * @param resultConsumer receives the results
+     * @param <T>            type of item
+     * @param <R>            type of result
+     * @return invokable promise that completes when all items are mapped
+     */
+    static <T, R> Promise<Void> mapAsyncUnordered(final Iterable<? extends T> items,
+                                                  final Function<? super T, ? extends Promise<R>> mapper,
+                                                  final int parallelism,
+                                                  final Consumer<? super R> resultConsumer) {
+        return new MapAsync<>(items, mapper, parallelism, false, resultConsumer, Expected.empty());
+    }
+
+    /**
+     * Waits for every promise and returns the result of each one, in order.
+     * Unlike {@code all}, a failed child does not fail the returned promise, it shows up as a failed result.
+     *
+     * @param promises promises
+     * @param <T>      types of promise
+     * @return promise of the results
+     */
+    static <T> Promise<List<Result<T>>> allSettled(final List<Promise<T>> promises) {
+        if (promises.isEmpty()) {
+            return resolved(Collections.emptyList());
+        }
+        final Promise<List<Result<T>>> parent = promise();
+        PromiseUtil.allSettled(parent.asHandler(), promises);
+        return parent;
+    }
+
+    /**
+     * Waits for every promise and returns the result of each one, in order.
+     *
+     * @param promises promises
+     * @param <T>      types of promise
+     * @return promise of the results
+     */
+    @SafeVarargs
+    static <T> Promise<List<Result<T>>> allSettled(final Promise<T>... promises) {
+        return allSettled(Arrays.asList(promises));
+    }
+
     /**
      * Any promises must complete.
      *
@@ -1001,4 +1188,42 @@ public interface Promises {
     static <T> Promise<T> deferCall(Consumer<Callback<T>> callbackConsumer) {
         return new InvokerPromise<>(callbackConsumer);
     }
+
+    /**
+     * Create an invokable promise whose consumer runs on the executor when the promise is invoked.
+     *
+     * @param <T>              type of result
+     * @param executor         executor that runs the callback consumer
+     * @param callbackConsumer promise consumer so you can call reject or resolve on the service side
+     * @return new promise
+     */
+    static <T> Promise<T> invokablePromise(final Executor executor, final Consumer<Callback<T>> callbackConsumer) {
+        return new InvokerPromise<>(callbackConsumer, executor);
+    }
+
+    /**
+     * Create an invokable promise handle whose consumer runs on the executor when the promise is invoked.
+     * Use {@code invokeWithReactor(reactor)} to have the result replayed on the reactor thread.
+     *
+     * @param <T>              type of result
+     * @param executor         executor that runs the callback consumer
+     * @param callbackConsumer promise consumer so you can call reject or resolve on the service side
+     * @return new promise
+     */
+    static <T> Promise<T> deferCall(final Executor executor, final Consumer<Callback<T>> callbackConsumer) {
+        return new InvokerPromise<>(callbackConsumer, executor);
+    }
+
+    /**
+     * Create an invokable promise that computes its value with the supplier on the executor.
+     * The promise is resolved with the supplied value, or rejected if the supplier throws.
+     *
+     * @param <T>      type of result
+     * @param executor executor that runs the supplier, for example a ForkJoinPool
+     * @param supplier computes the result
+     * @return new promise, call invoke() or invokeWithReactor(reactor) to run it
+     */
+    static <T> Promise<T> supplyAsync(final Executor executor, final Supplier<T> supplier) {
+        return new InvokerPromise<>(callback -> callback.resolve(supplier.get()), executor);
+    }
 }
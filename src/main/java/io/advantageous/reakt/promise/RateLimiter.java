@@ -0,0 +1,104 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.promise;
+
+import io.advantageous.reakt.Callback;
+import io.advantageous.reakt.reactor.Reactor;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * Token bucket rate limiter for invokable promises.
+ * <p>
+ * The bucket holds up to {@code burst} tokens and is refilled at {@code permitsPerSecond} from the reactor's
+ * {@link io.advantageous.reakt.reactor.TimeSource}. An invocation takes one token. If there is no token, the
+ * invocation is queued and released by a reactor task when tokens come back, or rejected with a
+ * {@link io.advantageous.reakt.exception.RateLimitedException} if the queue is full. No thread sleeps.
+ * <p>
+ * Queued invocations are released on the reactor thread.
+ *
+ * @author Rick Hightower
+ */
+public interface RateLimiter {
+
+    /**
+     * Creates a rate limiter.
+     *
+     * @param reactor          reactor that supplies the clock and releases queued calls
+     * @param permitsPerSecond refill rate
+     * @param burst            bucket capacity
+     * @param maxQueued        max number of calls waiting for a token, 0 to reject right away
+     * @return rate limiter
+     */
+    static RateLimiter rateLimiter(final Reactor reactor,
+                                   final double permitsPerSecond,
+                                   final int burst,
+                                   final int maxQueued) {
+        return KeyedRateLimiter.<Object>keyedRateLimiter(reactor, permitsPerSecond, burst, maxQueued)
+                .forKey(RateLimiter.class);
+    }
+
+    /**
+     * Creates a rate limiter whose queued calls fail with a {@code TimeoutException} after waiting longer than
+     * the timeout.
+     *
+     * @param reactor          reactor that supplies the clock and releases queued calls
+     * @param permitsPerSecond refill rate
+     * @param burst            bucket capacity
+     * @param maxQueued        max number of calls waiting for a token, 0 to reject right away
+     * @param timeout          max time a call can wait in the queue
+     * @return rate limiter
+     */
+    static RateLimiter rateLimiter(final Reactor reactor,
+                                   final double permitsPerSecond,
+                                   final int burst,
+                                   final int maxQueued,
+                                   final Duration timeout) {
+        return KeyedRateLimiter.<Object>keyedRateLimiter(reactor, permitsPerSecond, burst, maxQueued, timeout)
+                .forKey(RateLimiter.class);
+    }
+
+    /**
+     * Wraps an invokable promise so that invoking it takes a token.
+     *
+     * @param promise invokable promise
+     * @param <T>     type of result
+     * @return new invokable promise
+     */
+    <T> Promise<T> wrap(Promise<T> promise);
+
+    /**
+     * Create an invokable promise that takes a token when invoked.
+     *
+     * @param callbackConsumer promise consumer so you can call reject or resolve on the service side
+     * @param <T>              type of result
+     * @return new invokable promise
+     */
+    default <T> Promise<T> deferCall(final Consumer<Callback<T>> callbackConsumer) {
+        return wrap(Promises.deferCall(callbackConsumer));
+    }
+
+    /**
+     * Takes a token if one is available and no call is waiting for one.
+     *
+     * @return true if a token was taken
+     */
+    boolean tryAcquire();
+}
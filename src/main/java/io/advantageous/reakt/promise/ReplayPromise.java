@@ -18,6 +18,8 @@
 
 package io.advantageous.reakt.promise;
 
+import io.advantageous.reakt.reactor.Deadline;
+
 import java.util.function.Consumer;
 
 /**
@@ -37,6 +39,17 @@ public interface ReplayPromise<T> extends PromiseHandler<T> {
      */
     boolean checkTimeout(long time);
 
+    /**
+     * Limits this promise to the deadline, its timeout becomes the smaller of its own timeout and the time
+     * left until the deadline. Promises that do not support deadlines ignore it.
+     *
+     * @param deadline deadline of the request this promise belongs to
+     * @return this, fluent
+     */
+    default ReplayPromise<T> withDeadline(Deadline deadline) {
+        return this;
+    }
+
     /**
      * @param handler handle timeout.
      * @return this fluent
@@ -0,0 +1,124 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.promise.impl;
+
+import io.advantageous.reakt.exception.LimitExceededException;
+import io.advantageous.reakt.promise.AdaptiveLimiter;
+import io.advantageous.reakt.promise.LimitAlgorithm;
+import io.advantageous.reakt.promise.Promise;
+import io.advantageous.reakt.promise.PromiseHandler;
+import io.advantageous.reakt.reactor.TimeSource;
+
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Adaptive limiter.
+ * Admission is a CAS on the in flight count. Samples are fed to the algorithm one at a time.
+ *
+ * @author Rick Hightower
+ */
+public class AdaptiveLimiterImpl implements AdaptiveLimiter {
+
+    private static final double RTT_SMOOTHING = 0.1;
+
+    private final LimitAlgorithm algorithm;
+    private final TimeSource timeSource;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+    private volatile int limit;
+    private volatile long minRtt = Long.MAX_VALUE;
+    private volatile long smoothedRtt;
+
+    public AdaptiveLimiterImpl(final LimitAlgorithm algorithm,
+                               final int initialLimit,
+                               final TimeSource timeSource) {
+        this.algorithm = algorithm;
+        this.limit = initialLimit;
+        this.timeSource = timeSource;
+    }
+
+    @Override
+    public <T> Promise<T> wrap(final Promise<T> promise) {
+        return new AdmittedPromise<>(promise, this::admit);
+    }
+
+    private <T> void admit(final AdmittedPromise<T> promise) {
+        final int current = tryAcquire();
+        if (current < 0) {
+            rejected.incrementAndGet();
+            promise.reject(new LimitExceededException("Concurrency limit reached, limit " + limit));
+            return;
+        }
+        final long startTime = timeSource.getTime();
+        promise.proceed(completed -> {
+            inFlight.decrementAndGet();
+            sample(timeSource.getTime() - startTime, current, completed);
+        });
+    }
+
+    /**
+     * @return in flight count before this call was admitted or -1 if the limit was reached
+     */
+    private int tryAcquire() {
+        int current = inFlight.get();
+        while (current < limit) {
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current;
+            }
+            current = inFlight.get();
+        }
+        return -1;
+    }
+
+    private synchronized void sample(final long rtt, final int inFlightAtStart, final PromiseHandler<?> completed) {
+        if (rtt < minRtt) {
+            minRtt = rtt;
+        }
+        smoothedRtt = smoothedRtt == 0 ? rtt : (long) (smoothedRtt * (1 - RTT_SMOOTHING) + rtt * RTT_SMOOTHING);
+        final boolean dropped = completed.failure() && completed.cause() instanceof TimeoutException;
+        limit = algorithm.update(limit, rtt, inFlightAtStart + 1, dropped);
+    }
+
+    @Override
+    public int limit() {
+        return limit;
+    }
+
+    @Override
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    @Override
+    public long minRtt() {
+        return minRtt == Long.MAX_VALUE ? 0 : minRtt;
+    }
+
+    @Override
+    public long smoothedRtt() {
+        return smoothedRtt;
+    }
+
+    @Override
+    public long rejected() {
+        return rejected.get();
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.promise.impl;
+
+import io.advantageous.reakt.Invokable;
+import io.advantageous.reakt.promise.Promise;
+import io.advantageous.reakt.promise.PromiseHandler;
+
+import java.util.function.Consumer;
+
+/**
+ * Invokable promise that asks a gate (bulkhead, limiter, etc.) for admission before it invokes
+ * the promise it wraps.
+ * <p>
+ * The gate either calls {@code proceed} to run the wrapped promise now or later, or rejects this promise.
+ *
+ * @param <T> type of result
+ * @author Rick Hightower
+ */
+public class AdmittedPromise<T> extends BasePromise<T> implements Invokable {
+
+    private final Promise<T> promise;
+    private final Consumer<AdmittedPromise<T>> gate;
+    private boolean invoked;
+
+    public AdmittedPromise(final Promise<T> promise, final Consumer<AdmittedPromise<T>> gate) {
+        if (!promise.asHandler().isInvokable()) {
+            throw new IllegalStateException("Only invokable promises can be admitted");
+        }
+        this.promise = promise;
+        this.gate = gate;
+        onCancel(promise::cancel);
+    }
+
+    @Override
+    public void invoke() {
+        if (invoked) {
+            throw new IllegalStateException("PromiseHandler can only be invoked once");
+        }
+        invoked = true;
+        gate.accept(this);
+    }
+
+    /**
+     * Invokes the wrapped promise.
+     * The {@code onDone} listener is called when the wrapped promise completes and before this promise
+     * is resolved or rejected, so the gate can give back its permit first.
+     *
+     * @param onDone called with the completed wrapped promise
+     */
+    public void proceed(final Consumer<PromiseHandler<T>> onDone) {
+        if (isCancelled() && promise.asHandler().complete()) {
+            /* Cancelled while waiting for admission, hand the permit straight back. */
+            onDone.accept(promise.asHandler());
+            return;
+        }
+        promise.asHandler().whenComplete(completed -> {
+            onDone.accept(completed);
+            if (completed.success()) {
+                resolve(completed.get());
+            } else {
+                reject(completed.cause());
+            }
+        });
+        try {
+            promise.invoke();
+        } catch (Exception ex) {
+            if (!promise.asHandler().complete()) {
+                promise.asHandler().reject(ex);
+            }
+        }
+    }
+
+    @Override
+    public boolean isInvokable() {
+        return true;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.promise.impl;
+
+import io.advantageous.reakt.promise.LimitAlgorithm;
+
+/**
+ * Additive increase, multiplicative decrease limit.
+ *
+ * @author Rick Hightower
+ */
+public class AimdLimit implements LimitAlgorithm {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+
+    public AimdLimit(final int minLimit, final int maxLimit, final double backoffRatio) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+    }
+
+    @Override
+    public int update(final int limit, final long rtt, final int inFlight, final boolean dropped) {
+        if (dropped) {
+            return Math.max(minLimit, (int) (limit * backoffRatio));
+        }
+        /* Only grow when the current limit is being used. */
+        if (inFlight * 2 >= limit) {
+            return Math.min(maxLimit, limit + 1);
+        }
+        return limit;
+    }
+}
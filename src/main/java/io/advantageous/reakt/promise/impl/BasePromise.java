@@ -21,12 +21,14 @@ package io.advantageous.reakt.promise.impl;
 import io.advantageous.reakt.Expected;
 import io.advantageous.reakt.Result;
 import io.advantageous.reakt.exception.ThenHandlerException;
+import io.advantageous.reakt.impl.ResultImpl;
 import io.advantageous.reakt.promise.PromiseHandler;
 import io.advantageous.reakt.reactor.Reactor;
 
 import java.time.Duration;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
@@ -40,6 +42,8 @@ public class BasePromise<T> implements PromiseHandler<T> {
     protected Expected<Consumer<Expected<T>>> thenExpectedConsumer = Expected.empty();
     protected Expected<Consumer<Throwable>> catchConsumer = Expected.empty();
     protected Expected<List<Consumer<PromiseHandler<T>>>> completeListeners = Expected.empty();
+    private Expected<List<Runnable>> cancelHandlers = Expected.empty();
+    private boolean cancelHandlersFired;
     private boolean safe;
 
     public static <T> PromiseHandler<T> provideFinalPromise(PromiseHandler<T> promise) {
@@ -182,7 +186,23 @@ public class BasePromise<T> implements PromiseHandler<T> {
     @Override
     public void onResult(final Result<T> result) {
         if (this.result.compareAndSet(null, result)) {
-            doOnResult(result);
+            final Trampoline trampoline = Trampoline.current();
+            if (trampoline.enter()) {
+                try {
+                    completeWith(result);
+                } finally {
+                    trampoline.exit();
+                }
+            } else {
+                trampoline.defer(() -> completeWith(result));
+            }
+        }
+    }
+
+    private void completeWith(final Result<T> result) {
+        doOnResult(result);
+        if (result.success()) {
+            releaseCancelHandlers();
         }
     }
 
@@ -216,6 +236,64 @@ public class BasePromise<T> implements PromiseHandler<T> {
         return PromiseUtil.mapPromise(this, mapper);
     }
 
+    @Override
+    public boolean cancel() {
+        final Result<T> cancelled = new ResultImpl<>(new CancellationException("Promise was cancelled"));
+        onResult(cancelled);
+        if (result.get() != cancelled) {
+            return false;
+        }
+        fireCancelHandlers();
+        return true;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        final Result<T> theResult = result.get();
+        return theResult != null && theResult.failure() && theResult.cause() instanceof CancellationException;
+    }
+
+    @Override
+    public PromiseHandler<T> onCancel(final Runnable handler) {
+        final boolean alreadyFired;
+        synchronized (this) {
+            alreadyFired = cancelHandlersFired;
+            if (!alreadyFired && !(complete() && success())) {
+                if (cancelHandlers.isEmpty()) {
+                    cancelHandlers = Expected.of(new CopyOnWriteArrayList<>());
+                }
+                cancelHandlers.get().add(handler);
+            }
+        }
+        if (alreadyFired) {
+            handler.run();
+        }
+        return this;
+    }
+
+    /**
+     * A promise that succeeded can no longer be cancelled, so drop the handlers and what they reference.
+     */
+    protected synchronized void releaseCancelHandlers() {
+        cancelHandlers = Expected.empty();
+    }
+
+    /**
+     * Runs the cancel handlers once, for example when this promise is cancelled or times out.
+     */
+    protected void fireCancelHandlers() {
+        final Expected<List<Runnable>> handlers;
+        synchronized (this) {
+            if (cancelHandlersFired) {
+                return;
+            }
+            cancelHandlersFired = true;
+            handlers = cancelHandlers;
+            cancelHandlers = Expected.empty();
+        }
+        handlers.ifPresent(runnables -> runnables.forEach(Runnable::run));
+    }
+
     private void copyPromiseFieldsToReactorPromise(BasePromise<T> reactorPromise) {
         reactorPromise.catchConsumer = this.catchConsumer;
         reactorPromise.thenConsumer = this.thenConsumer;
@@ -229,7 +307,11 @@ public class BasePromise<T> implements PromiseHandler<T> {
         completeListeners.ifPresent(consumers ->
                 consumers.forEach(reactorPromise::whenComplete));
 
+        reactorPromise.onCancel(this::cancel);
         this.thenPromise(reactorPromise);
-        this.invoke();
+        /* A reactor promise created past its deadline is already rejected, skip the call. */
+        if (!reactorPromise.complete()) {
+            this.invoke();
+        }
     }
 }
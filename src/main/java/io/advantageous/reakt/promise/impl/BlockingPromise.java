@@ -124,10 +124,13 @@ public class BlockingPromise<T> extends BasePromise<T> {
                 final T t = promise.result.get().get();
                 final U mapped = mapper.apply(t);
                 mappedPromise.resolve(mapped);
+            } else if (promise.isCancelled()) {
+                mappedPromise.cancel();
             } else {
                 mappedPromise.reject(promise.cause());
             }
         });
+        mappedPromise.onCancel(this::cancel);
         return mappedPromise;
     }
 
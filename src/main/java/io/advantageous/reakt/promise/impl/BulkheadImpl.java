@@ -0,0 +1,208 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.promise.impl;
+
+import io.advantageous.reakt.Expected;
+import io.advantageous.reakt.exception.BulkheadFullException;
+import io.advantageous.reakt.promise.Bulkhead;
+import io.advantageous.reakt.promise.Promise;
+import io.advantageous.reakt.reactor.Reactor;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Non-blocking bulkhead.
+ * Permits and queue slots are taken with CAS so neither the caller nor the completing thread blocks.
+ * <p>
+ * Queue timeouts are checked by a reactor task that is only armed while calls are waiting, and that schedules
+ * itself for when the oldest waiting call expires, so an idle bulkhead leaves nothing running on the reactor.
+ *
+ * @author Rick Hightower
+ */
+public class BulkheadImpl implements Bulkhead {
+
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final Expected<Reactor> reactor;
+    private final long timeoutMillis;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+    private final Queue<Waiter> waiting = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean timerArmed = new AtomicBoolean();
+
+    public BulkheadImpl(final int maxConcurrent,
+                        final int maxQueued,
+                        final Expected<Reactor> reactor,
+                        final Duration timeout) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("maxConcurrent must be at least 1");
+        }
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+        this.reactor = reactor;
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    @Override
+    public <T> Promise<T> wrap(final Promise<T> promise) {
+        return new AdmittedPromise<>(promise, this::admit);
+    }
+
+    @Override
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    @Override
+    public int queued() {
+        return queued.get();
+    }
+
+    @Override
+    public long rejected() {
+        return rejected.get();
+    }
+
+    private <T> void admit(final AdmittedPromise<T> promise) {
+        if (waiting.isEmpty() && tryAcquire()) {
+            start(promise);
+            return;
+        }
+        if (!tryEnqueue()) {
+            rejected.incrementAndGet();
+            promise.reject(new BulkheadFullException("Bulkhead is full, in flight " + inFlight.get()
+                    + " queued " + queued.get()));
+            return;
+        }
+        waiting.add(new Waiter(promise, now()));
+        armTimer();
+        drain();
+    }
+
+    private <T> void start(final AdmittedPromise<T> promise) {
+        promise.proceed(completed -> {
+            inFlight.decrementAndGet();
+            drain();
+        });
+    }
+
+    /**
+     * Hands free permits to waiting calls.
+     * A permit is only taken when there is a waiter, and given back if another thread took the waiter first.
+     */
+    private void drain() {
+        while (!waiting.isEmpty() && tryAcquire()) {
+            final Waiter waiter = waiting.poll();
+            if (waiter == null) {
+                inFlight.decrementAndGet();
+                continue;
+            }
+            queued.decrementAndGet();
+            if (waiter.promise.complete()) {
+                inFlight.decrementAndGet();
+                continue;
+            }
+            start(waiter.promise);
+        }
+    }
+
+    private boolean tryAcquire() {
+        int current = inFlight.get();
+        while (current < maxConcurrent) {
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+            current = inFlight.get();
+        }
+        return false;
+    }
+
+    private boolean tryEnqueue() {
+        int current = queued.get();
+        while (current < maxQueued) {
+            if (queued.compareAndSet(current, current + 1)) {
+                return true;
+            }
+            current = queued.get();
+        }
+        return false;
+    }
+
+    private long now() {
+        return reactor.isPresent() ? reactor.get().timeSource().getTime() : 0L;
+    }
+
+    /**
+     * Schedules a timeout check for when the oldest waiting call expires, unless one is already scheduled.
+     */
+    private void armTimer() {
+        if (!reactor.isPresent() || waiting.isEmpty() || !timerArmed.compareAndSet(false, true)) {
+            return;
+        }
+        final Waiter oldest = waiting.peek();
+        final long delay = oldest == null ? 0 : Math.max(0, oldest.queuedTime + timeoutMillis - now());
+        reactor.get().runTaskAfter(Duration.ofMillis(delay), this::onTimer);
+    }
+
+    /**
+     * Runs on the reactor thread. Disarms before re-arming so a call queued meanwhile is never left unchecked.
+     */
+    private void onTimer() {
+        processQueueTimeouts();
+        timerArmed.set(false);
+        armTimer();
+    }
+
+    /**
+     * Rejects the calls that have waited in the queue past the timeout.
+     * The queue is FIFO so this stops at the first call that has not timed out.
+     */
+    private void processQueueTimeouts() {
+        final long time = now();
+        Waiter waiter = waiting.peek();
+        while (waiter != null && (time - waiter.queuedTime) > timeoutMillis) {
+            if (waiting.remove(waiter)) {
+                queued.decrementAndGet();
+                waiter.promise.reject(new TimeoutException("Call timed out waiting for the bulkhead, waited ms "
+                        + (time - waiter.queuedTime)));
+            }
+            waiter = waiting.peek();
+        }
+    }
+
+    /**
+     * A call waiting for a permit.
+     */
+    private static class Waiter {
+        private final AdmittedPromise<?> promise;
+        private final long queuedTime;
+
+        private Waiter(final AdmittedPromise<?> promise, final long queuedTime) {
+            this.promise = promise;
+            this.queuedTime = queuedTime;
+        }
+    }
+}
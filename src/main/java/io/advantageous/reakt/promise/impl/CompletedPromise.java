@@ -0,0 +1,202 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.promise.impl;
+
+import io.advantageous.reakt.Expected;
+import io.advantageous.reakt.Result;
+import io.advantageous.reakt.exception.ThenHandlerException;
+import io.advantageous.reakt.promise.PromiseHandler;
+import io.advantageous.reakt.reactor.Reactor;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A promise that is complete from the start.
+ * <p>
+ * Handlers run right away on the thread that registers them and nothing is stored, so instances are immutable
+ * and can be shared. If a safe handler throws, a rejected promise is returned so that a {@code catchError}
+ * chained after it sees the {@link ThenHandlerException}.
+ *
+ * @param <T> type of result
+ * @author Rick Hightower
+ */
+public class CompletedPromise<T> implements PromiseHandler<T> {
+
+    private static final CompletedPromise<?> NULL = new CompletedPromise<>(Result.DONE);
+    private static final CompletedPromise<Boolean> TRUE = new CompletedPromise<>(Result.result(true));
+    private static final CompletedPromise<Boolean> FALSE = new CompletedPromise<>(Result.result(false));
+
+    private final Result<T> result;
+
+    public CompletedPromise(final Result<T> result) {
+        this.result = result;
+    }
+
+    /**
+     * Returns a resolved promise, shared for null and booleans.
+     *
+     * @param value value
+     * @param <T>   type of result
+     * @return resolved promise
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> PromiseHandler<T> resolved(final T value) {
+        if (value == null) {
+            return (PromiseHandler<T>) NULL;
+        }
+        if (value instanceof Boolean) {
+            return (PromiseHandler<T>) ((Boolean) value ? TRUE : FALSE);
+        }
+        return new CompletedPromise<>(Result.result(value));
+    }
+
+    public static <T> PromiseHandler<T> rejected(final Throwable cause) {
+        return new CompletedPromise<>(Result.error(cause));
+    }
+
+    @Override
+    public PromiseHandler<T> then(final Consumer<T> consumer) {
+        if (result.success()) {
+            consumer.accept(result.get());
+        }
+        return this;
+    }
+
+    @Override
+    public PromiseHandler<T> thenExpect(final Consumer<Expected<T>> consumer) {
+        if (result.success()) {
+            consumer.accept(result.expect());
+        }
+        return this;
+    }
+
+    @Override
+    public PromiseHandler<T> thenSafe(final Consumer<T> consumer) {
+        try {
+            return then(consumer);
+        } catch (Exception ex) {
+            return rejected(new ThenHandlerException(ex));
+        }
+    }
+
+    @Override
+    public PromiseHandler<T> thenSafeExpect(final Consumer<Expected<T>> consumer) {
+        try {
+            return thenExpect(consumer);
+        } catch (Exception ex) {
+            return rejected(new ThenHandlerException(ex));
+        }
+    }
+
+    @Override
+    public boolean supportsSafe() {
+        return true;
+    }
+
+    @Override
+    public PromiseHandler<T> catchError(final Consumer<Throwable> consumer) {
+        if (result.failure()) {
+            consumer.accept(result.cause());
+        }
+        return this;
+    }
+
+    @Override
+    public PromiseHandler<T> whenComplete(final Consumer<PromiseHandler<T>> doneListener) {
+        doneListener.accept(this);
+        return this;
+    }
+
+    @Override
+    public <U> PromiseHandler<U> thenMap(final Function<? super T, ? extends U> mapper) {
+        return result.success() ? resolved(mapper.apply(result.get())) : rejected(result.cause());
+    }
+
+    /**
+     * Already complete, nothing to invoke.
+     */
+    @Override
+    public void invoke() {
+    }
+
+    @Override
+    public PromiseHandler<T> invokeWithReactor(final Reactor reactor) {
+        final PromiseHandler<T> reactorPromise = reactor.<T>promise().asHandler();
+        reactorPromise.onResult(result);
+        return reactorPromise;
+    }
+
+    @Override
+    public PromiseHandler<T> invokeWithReactor(final Reactor reactor, final Duration timeout) {
+        final PromiseHandler<T> reactorPromise = reactor.<T>promise(timeout).asHandler();
+        reactorPromise.onResult(result);
+        return reactorPromise;
+    }
+
+    /**
+     * Ignored, the result of a completed promise can not change.
+     *
+     * @param result ignored
+     */
+    @Override
+    public void onResult(final Result<T> result) {
+    }
+
+    @Override
+    public boolean success() {
+        return result.success();
+    }
+
+    @Override
+    public boolean complete() {
+        return true;
+    }
+
+    @Override
+    public boolean failure() {
+        return result.failure();
+    }
+
+    @Override
+    public Throwable cause() {
+        return result.cause();
+    }
+
+    @Override
+    public Expected<T> expect() {
+        return result.expect();
+    }
+
+    @Override
+    public T get() {
+        return result.get();
+    }
+
+    @Override
+    public T orElse(final T other) {
+        return result.orElse(other);
+    }
+
+    @Override
+    public PromiseHandler<T> freeze() {
+        return this;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.promise.impl;
+
+import io.advantageous.reakt.promise.LimitAlgorithm;
+
+/**
+ * Gradient limit.
+ * Tracks a long term round trip average and compares each sample to it.
+ *
+ * @author Rick Hightower
+ */
+public class GradientLimit implements LimitAlgorithm {
+
+    private static final double LONG_RTT_SMOOTHING = 0.01;
+    private static final double LIMIT_SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private double longRtt;
+    private double estimatedLimit;
+
+    public GradientLimit(final int minLimit, final int maxLimit, final double tolerance) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+    }
+
+    @Override
+    public int update(final int limit, final long rtt, final int inFlight, final boolean dropped) {
+        if (estimatedLimit == 0) {
+            estimatedLimit = limit;
+        }
+        if (longRtt == 0) {
+            longRtt = Math.max(rtt, 1);
+        } else {
+            longRtt = longRtt * (1 - LONG_RTT_SMOOTHING) + rtt * LONG_RTT_SMOOTHING;
+        }
+
+        /* Do not grow the limit if the current one is not in use. */
+        if (!dropped && inFlight * 2 < estimatedLimit) {
+            return limit;
+        }
+
+        final double gradient = dropped ? 0.5
+                : Math.max(0.5, Math.min(1.0, tolerance * longRtt / Math.max(rtt, 1)));
+        final double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        estimatedLimit = estimatedLimit * (1 - LIMIT_SMOOTHING) + newLimit * LIMIT_SMOOTHING;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, estimatedLimit));
+        return (int) estimatedLimit;
+    }
+}
@@ -19,26 +19,76 @@
 package io.advantageous.reakt.promise.impl;
 
 import io.advantageous.reakt.Callback;
+import io.advantageous.reakt.Expected;
 import io.advantageous.reakt.Invokable;
+import io.advantageous.reakt.promise.PromiseHandler;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Consumer;
 
 public class InvokerPromise<T> extends BasePromise<T> implements Invokable {
 
     private final Consumer<Callback<T>> consumer;
+    private final Expected<Executor> executor;
     private boolean invoked;
 
     public InvokerPromise(Consumer<Callback<T>> consumer) {
+        this(consumer, Expected.empty());
+    }
+
+    public InvokerPromise(Consumer<Callback<T>> consumer, Executor executor) {
+        this(consumer, Expected.of(executor));
+    }
+
+    private InvokerPromise(Consumer<Callback<T>> consumer, Expected<Executor> executor) {
         this.consumer = consumer;
+        this.executor = executor;
     }
 
     @Override
     public void invoke() {
+        if (executor.isPresent()) {
+            invokeOn(executor.get());
+        } else {
+            markInvoked();
+            consumer.accept(this);
+        }
+    }
+
+    /**
+     * Runs the consumer on the executor instead of the invoking thread.
+     * Exceptions thrown by the consumer, or by an executor that refuses the task, reject this promise.
+     *
+     * @param executor executor that runs the consumer
+     * @return this, fluent
+     */
+    @Override
+    public PromiseHandler<T> invokeOn(final Executor executor) {
+        markInvoked();
+        try {
+            executor.execute(this::acceptSafely);
+        } catch (RejectedExecutionException ex) {
+            reject(ex);
+        }
+        return this;
+    }
+
+    private void acceptSafely() {
+        try {
+            consumer.accept(this);
+        } catch (Exception ex) {
+            if (!complete()) {
+                reject(ex);
+            }
+        }
+    }
+
+    private void markInvoked() {
         if (invoked) {
             throw new IllegalStateException("PromiseHandler can only be invoked once");
         }
         invoked = true;
-        consumer.accept(this);
     }
 
     @Override
@@ -0,0 +1,338 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.promise.impl;
+
+import io.advantageous.reakt.exception.RateLimitedException;
+import io.advantageous.reakt.promise.KeyedRateLimiter;
+import io.advantageous.reakt.promise.Promise;
+import io.advantageous.reakt.promise.RateLimiter;
+import io.advantageous.reakt.reactor.Reactor;
+import io.advantageous.reakt.reactor.TimeSource;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keyed token bucket rate limiter.
+ * <p>
+ * Buckets live in parallel arrays (key, tokens, last refill time) with linear probing.
+ * Bucket access is guarded by this object's monitor, the critical section is a few arithmetic operations.
+ * Queued calls are released by a reactor task, which also rejects the calls that have waited longer than the
+ * timeout. The task is only armed while calls are waiting and schedules itself again until the queue is empty,
+ * so an idle limiter leaves nothing running on the reactor.
+ * Each bucket counts its waiting calls so that a new call does not take a token ahead of them.
+ *
+ * @param <K> type of key
+ * @author Rick Hightower
+ */
+public class KeyedRateLimiterImpl<K> implements KeyedRateLimiter<K> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Reactor reactor;
+    private final TimeSource timeSource;
+    private final double permitsPerMilli;
+    private final int burst;
+    private final int maxQueued;
+    private final long timeoutMillis;
+    private final Duration releaseInterval;
+    private final Queue<Waiter<K>> waiting = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicBoolean timerArmed = new AtomicBoolean();
+
+    private Object[] keys = new Object[INITIAL_CAPACITY];
+    private double[] tokens = new double[INITIAL_CAPACITY];
+    private long[] refillTimes = new long[INITIAL_CAPACITY];
+    private int[] waiters = new int[INITIAL_CAPACITY];
+    private int size;
+
+    public KeyedRateLimiterImpl(final Reactor reactor,
+                                final double permitsPerSecond,
+                                final int burst,
+                                final int maxQueued,
+                                final Duration timeout) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("permitsPerSecond and burst must be positive");
+        }
+        this.reactor = reactor;
+        this.timeSource = reactor.timeSource();
+        this.permitsPerMilli = permitsPerSecond / 1000.0;
+        this.burst = burst;
+        this.maxQueued = maxQueued;
+        this.timeoutMillis = timeout.toMillis();
+        final long millisPerPermit = (long) (1 / permitsPerMilli);
+        this.releaseInterval = Duration.ofMillis(Math.max(1L, Math.min(millisPerPermit, timeoutMillis / 10)));
+    }
+
+    @Override
+    public <T> Promise<T> wrap(final K key, final Promise<T> promise) {
+        return new AdmittedPromise<>(promise, admittedPromise -> admit(key, admittedPromise));
+    }
+
+    @Override
+    public boolean tryAcquire(final K key) {
+        return tryAcquireUnlessWaiting(key);
+    }
+
+    /**
+     * Takes a token whether or not calls are waiting, used to release the waiting calls.
+     */
+    private synchronized boolean acquire(final K key) {
+        final long now = timeSource.getTime();
+        final int slot = slot(key, now);
+        final double available = refill(slot, now);
+        if (available >= 1.0) {
+            tokens[slot] = available - 1.0;
+            return true;
+        }
+        tokens[slot] = available;
+        return false;
+    }
+
+    @Override
+    public RateLimiter forKey(final K key) {
+        return new RateLimiter() {
+            @Override
+            public <T> Promise<T> wrap(final Promise<T> promise) {
+                return KeyedRateLimiterImpl.this.wrap(key, promise);
+            }
+
+            @Override
+            public boolean tryAcquire() {
+                return KeyedRateLimiterImpl.this.tryAcquire(key);
+            }
+        };
+    }
+
+    @Override
+    public synchronized int buckets() {
+        return size;
+    }
+
+    @Override
+    public int queued() {
+        return queued.get();
+    }
+
+    @Override
+    public long rejected() {
+        return rejected.get();
+    }
+
+    private <T> void admit(final K key, final AdmittedPromise<T> promise) {
+        if (tryAcquireUnlessWaiting(key)) {
+            promise.proceed(completed -> {
+            });
+            return;
+        }
+        if (!tryEnqueue()) {
+            rejected.incrementAndGet();
+            promise.reject(new RateLimitedException("Rate limit reached for " + key));
+            return;
+        }
+        addWaiter(key);
+        waiting.add(new Waiter<>(key, promise, timeSource.getTime()));
+        armTimer();
+    }
+
+    /**
+     * Schedules a release of the waiting calls, unless one is already scheduled.
+     */
+    private void armTimer() {
+        if (!waiting.isEmpty() && timerArmed.compareAndSet(false, true)) {
+            reactor.runTaskAfter(releaseInterval, this::onTimer);
+        }
+    }
+
+    /**
+     * Runs on the reactor thread. Disarms before re-arming so a call queued meanwhile is never left waiting.
+     */
+    private void onTimer() {
+        releaseWaiting();
+        timerArmed.set(false);
+        armTimer();
+    }
+
+    /**
+     * Takes a token only if no call is already waiting for the bucket of the key.
+     */
+    private synchronized boolean tryAcquireUnlessWaiting(final K key) {
+        final long now = timeSource.getTime();
+        final int slot = slot(key, now);
+        return waiters[slot] == 0 && acquire(key);
+    }
+
+    private synchronized void addWaiter(final K key) {
+        waiters[slot(key, timeSource.getTime())]++;
+    }
+
+    private synchronized void removeWaiter(final K key) {
+        waiters[slot(key, timeSource.getTime())]--;
+    }
+
+    private boolean tryEnqueue() {
+        int current = queued.get();
+        while (current < maxQueued) {
+            if (queued.compareAndSet(current, current + 1)) {
+                return true;
+            }
+            current = queued.get();
+        }
+        return false;
+    }
+
+    /**
+     * Runs on the reactor thread. Rejects the queued calls that have timed out and releases every other queued
+     * call whose bucket has a token, in FIFO order.
+     */
+    private void releaseWaiting() {
+        if (waiting.isEmpty()) {
+            return;
+        }
+        final long now = timeSource.getTime();
+        final Iterator<Waiter<K>> iterator = waiting.iterator();
+        while (iterator.hasNext()) {
+            final Waiter<K> waiter = iterator.next();
+            final long waited = now - waiter.queuedTime;
+            if (waiter.promise.complete()) {
+                remove(iterator, waiter);
+            } else if (waited > timeoutMillis) {
+                remove(iterator, waiter);
+                waiter.promise.reject(new TimeoutException("Call timed out waiting for the rate limiter, waited ms "
+                        + waited + " key " + waiter.key));
+            } else if (acquire(waiter.key)) {
+                remove(iterator, waiter);
+                waiter.promise.proceed(completed -> {
+                });
+            }
+        }
+    }
+
+    private void remove(final Iterator<Waiter<K>> iterator, final Waiter<K> waiter) {
+        iterator.remove();
+        queued.decrementAndGet();
+        removeWaiter(waiter.key);
+    }
+
+    /**
+     * Computes the tokens of the bucket in the slot at the given time.
+     */
+    private double refill(final int slot, final long now) {
+        final long elapsed = now - refillTimes[slot];
+        refillTimes[slot] = now;
+        if (elapsed <= 0) {
+            return tokens[slot];
+        }
+        return Math.min(burst, tokens[slot] + elapsed * permitsPerMilli);
+    }
+
+    /**
+     * Finds or adds the slot of the key.
+     */
+    private int slot(final Object key, final long now) {
+        int index = indexOf(key, keys);
+        if (keys[index] != null) {
+            return index;
+        }
+        if ((size + 1) * 2 > keys.length) {
+            rehash(now);
+            index = indexOf(key, keys);
+        }
+        keys[index] = key;
+        tokens[index] = burst;
+        refillTimes[index] = now;
+        waiters[index] = 0;
+        size++;
+        return index;
+    }
+
+    /**
+     * Rebuilds the table and drops buckets that have refilled to full burst, as they are the same as new buckets.
+     * Buckets with waiting calls are kept.
+     */
+    private void rehash(final long now) {
+        final Object[] oldKeys = keys;
+        final double[] oldTokens = tokens;
+        final long[] oldRefillTimes = refillTimes;
+        final int[] oldWaiters = waiters;
+
+        int live = 0;
+        for (int index = 0; index < oldKeys.length; index++) {
+            if (oldKeys[index] != null && !isIdle(oldTokens[index], oldRefillTimes[index], oldWaiters[index], now)) {
+                live++;
+            }
+        }
+        int capacity = INITIAL_CAPACITY;
+        while ((live + 1) * 2 > capacity) {
+            capacity <<= 1;
+        }
+        keys = new Object[capacity];
+        tokens = new double[capacity];
+        refillTimes = new long[capacity];
+        waiters = new int[capacity];
+        size = 0;
+        for (int index = 0; index < oldKeys.length; index++) {
+            final Object key = oldKeys[index];
+            if (key != null && !isIdle(oldTokens[index], oldRefillTimes[index], oldWaiters[index], now)) {
+                final int newIndex = indexOf(key, keys);
+                keys[newIndex] = key;
+                tokens[newIndex] = oldTokens[index];
+                refillTimes[newIndex] = oldRefillTimes[index];
+                waiters[newIndex] = oldWaiters[index];
+                size++;
+            }
+        }
+    }
+
+    private boolean isIdle(final double bucketTokens, final long refillTime, final int bucketWaiters, final long now) {
+        return bucketWaiters == 0 && bucketTokens + (now - refillTime) * permitsPerMilli >= burst;
+    }
+
+    private static int indexOf(final Object key, final Object[] table) {
+        final int mask = table.length - 1;
+        int hash = key.hashCode() * 0x9E3779B9;
+        int index = (hash ^ (hash >>> 16)) & mask;
+        while (table[index] != null && !table[index].equals(key)) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    /**
+     * A call waiting for a token.
+     */
+    private static class Waiter<K> {
+        private final K key;
+        private final AdmittedPromise<?> promise;
+        private final long queuedTime;
+
+        private Waiter(final K key, final AdmittedPromise<?> promise, final long queuedTime) {
+            this.key = key;
+            this.promise = promise;
+            this.queuedTime = queuedTime;
+        }
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.promise.impl;
+
+import io.advantageous.reakt.Callback;
+import io.advantageous.reakt.Expected;
+import io.advantageous.reakt.Result;
+import io.advantageous.reakt.promise.PromiseHandler;
+import io.advantageous.reakt.reactor.Reactor;
+import io.advantageous.reakt.reactor.TimeSource;
+
+import java.time.Duration;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A cold promise that runs its callback consumer the first time somebody subscribes, calls invoke() or
+ * blockingGet(), and shares the result with every later subscriber.
+ * <p>
+ * Each run is a {@link MulticastPromise} generation. Its result, success or failure, is kept until it is older
+ * than the time to live, so the next subscriber after the expiry starts a new run. Without a time source the
+ * result is kept for good. Cancelling drops the current run.
+ * Reading the result with {@code complete()}, {@code get()} and friends does not start a run.
+ *
+ * @param <T> type of result
+ * @author Rick Hightower
+ */
+public class LazyPromise<T> implements PromiseHandler<T> {
+
+    private final Consumer<Callback<T>> callbackConsumer;
+    private final Expected<TimeSource> timeSource;
+    private final long timeToLive;
+    private final AtomicReference<Generation<T>> generation = new AtomicReference<>();
+
+    public LazyPromise(final Consumer<Callback<T>> callbackConsumer) {
+        this(callbackConsumer, Expected.empty(), Duration.ZERO);
+    }
+
+    public LazyPromise(final Consumer<Callback<T>> callbackConsumer, final TimeSource timeSource,
+                       final Duration timeToLive) {
+        this(callbackConsumer, Expected.of(timeSource), timeToLive);
+    }
+
+    private LazyPromise(final Consumer<Callback<T>> callbackConsumer, final Expected<TimeSource> timeSource,
+                        final Duration timeToLive) {
+        this.callbackConsumer = callbackConsumer;
+        this.timeSource = timeSource;
+        this.timeToLive = timeToLive.toMillis();
+    }
+
+    private Generation<T> current() {
+        while (true) {
+            final Generation<T> existing = generation.get();
+            if (existing != null && !existing.expired()) {
+                return existing;
+            }
+            final Generation<T> fresh = new Generation<>(timeSource, timeToLive);
+            if (generation.compareAndSet(existing, fresh)) {
+                run(fresh);
+                return fresh;
+            }
+        }
+    }
+
+    private void run(final Generation<T> fresh) {
+        try {
+            callbackConsumer.accept(fresh);
+        } catch (Exception ex) {
+            if (!fresh.complete()) {
+                fresh.reject(ex);
+            }
+        }
+    }
+
+    private Generation<T> started() {
+        final Generation<T> existing = generation.get();
+        if (existing == null) {
+            throw new NoSuchElementException("No value present, lazy promise was not evaluated.");
+        }
+        return existing;
+    }
+
+    @Override
+    public PromiseHandler<T> then(final Consumer<T> consumer) {
+        current().then(consumer);
+        return this;
+    }
+
+    @Override
+    public PromiseHandler<T> thenExpect(final Consumer<Expected<T>> consumer) {
+        current().thenExpect(consumer);
+        return this;
+    }
+
+    @Override
+    public PromiseHandler<T> thenSafe(final Consumer<T> consumer) {
+        current().thenSafe(consumer);
+        return this;
+    }
+
+    @Override
+    public PromiseHandler<T> thenSafeExpect(final Consumer<Expected<T>> consumer) {
+        current().thenSafeExpect(consumer);
+        return this;
+    }
+
+    @Override
+    public boolean supportsSafe() {
+        return true;
+    }
+
+    @Override
+    public PromiseHandler<T> catchError(final Consumer<Throwable> consumer) {
+        current().catchError(consumer);
+        return this;
+    }
+
+    @Override
+    public PromiseHandler<T> whenComplete(final Consumer<PromiseHandler<T>> doneListener) {
+        current().whenComplete(doneListener);
+        return this;
+    }
+
+    @Override
+    public <U> PromiseHandler<U> thenMap(final Function<? super T, ? extends U> mapper) {
+        return current().thenMap(mapper);
+    }
+
+    /**
+     * Starts the evaluation if it has not been started, or if the last result expired.
+     */
+    @Override
+    public void invoke() {
+        current();
+    }
+
+    @Override
+    public PromiseHandler<T> invokeWithReactor(final Reactor reactor) {
+        return current().invokeWithReactor(reactor);
+    }
+
+    @Override
+    public PromiseHandler<T> invokeWithReactor(final Reactor reactor, final Duration timeout) {
+        return current().invokeWithReactor(reactor, timeout);
+    }
+
+    /**
+     * The result of a lazy promise comes from its callback consumer.
+     *
+     * @param result result
+     */
+    @Override
+    public void onResult(final Result<T> result) {
+        throw new UnsupportedOperationException("A lazy promise is resolved by its callback consumer");
+    }
+
+    @Override
+    public boolean cancel() {
+        final Generation<T> existing = generation.get();
+        return existing != null && existing.cancel();
+    }
+
+    @Override
+    public boolean isCancelled() {
+        final Generation<T> existing = generation.get();
+        return existing != null && existing.isCancelled();
+    }
+
+    @Override
+    public boolean complete() {
+        final Generation<T> existing = generation.get();
+        return existing != null && existing.complete();
+    }
+
+    @Override
+    public boolean success() {
+        return started().success();
+    }
+
+    @Override
+    public boolean failure() {
+        return started().failure();
+    }
+
+    @Override
+    public Throwable cause() {
+        return started().cause();
+    }
+
+    @Override
+    public Expected<T> expect() {
+        return started().expect();
+    }
+
+    @Override
+    public T get() {
+        return started().get();
+    }
+
+    @Override
+    public T orElse(final T other) {
+        return started().orElse(other);
+    }
+
+    /**
+     * One run of the callback consumer, remembers when its result expires.
+     */
+    private static final class Generation<T> extends MulticastPromise<T> {
+
+        private final Expected<TimeSource> timeSource;
+        private final long timeToLive;
+        private volatile long expiresAt = Long.MAX_VALUE;
+
+        private Generation(final Expected<TimeSource> timeSource, final long timeToLive) {
+            this.timeSource = timeSource;
+            this.timeToLive = timeToLive;
+        }
+
+        @Override
+        protected void doOnResult(final Result<T> result) {
+            timeSource.ifPresent(source -> expiresAt = source.getTime() + timeToLive);
+            super.doOnResult(result);
+        }
+
+        private boolean expired() {
+            final long expiration = expiresAt;
+            return isCancelled() || expiration != Long.MAX_VALUE && timeSource.get().getTime() >= expiration;
+        }
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.promise.impl;
+
+import io.advantageous.reakt.Expected;
+import io.advantageous.reakt.Invokable;
+import io.advantageous.reakt.promise.Promise;
+import io.advantageous.reakt.promise.PromiseHandler;
+import io.advantageous.reakt.reactor.Reactor;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Maps the items of an iterable through a promise returning function with at most {@code parallelism} calls
+ * in flight. The next item is pulled from the iterator only when a call completes.
+ * <p>
+ * All state is touched by one drain loop at a time. Completions are queued and whoever queues the first one
+ * runs the loop, the others just leave their completion behind, so there is no lock and no recursion when
+ * calls complete synchronously. With a reactor the loop always runs on the reactor thread.
+ * <p>
+ * In order mode result {@code i} is emitted only after results {@code 0..i-1}, and a new call is only started
+ * while fewer than {@code parallelism} results are waiting to be emitted, so the reorder buffer is bounded by
+ * {@code parallelism}. Memory is proportional to the parallelism, not the input size.
+ * <p>
+ * This promise resolves once every result has been emitted. The first failure, from a call, the iterator or
+ * the result consumer, rejects it, stops pulling items and cancels the calls in flight.
+ *
+ * @param <T> type of item
+ * @param <R> type of result
+ * @author Rick Hightower
+ */
+public class MapAsync<T, R> extends BasePromise<Void> implements Invokable {
+
+    private final Iterator<? extends T> items;
+    private final Function<? super T, ? extends Promise<R>> mapper;
+    private final Consumer<? super R> resultConsumer;
+    private final int parallelism;
+    private final boolean ordered;
+    private final Expected<Reactor> reactor;
+
+    private final Queue<Completion> completions = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final PromiseHandler<?>[] inFlight;
+    private final Object[] buffer;
+    private final boolean[] ready;
+    private final int[] freeSlots;
+    private int freeCount;
+    private int running;
+    private long issued;
+    private long emitted;
+    private boolean exhausted;
+    private boolean invoked;
+    private volatile boolean stopped;
+
+    public MapAsync(final Iterable<? extends T> items,
+                    final Function<? super T, ? extends Promise<R>> mapper,
+                    final int parallelism,
+                    final boolean ordered,
+                    final Consumer<? super R> resultConsumer,
+                    final Expected<Reactor> reactor) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        this.items = items.iterator();
+        this.mapper = mapper;
+        this.parallelism = parallelism;
+        this.ordered = ordered;
+        this.resultConsumer = resultConsumer;
+        this.reactor = reactor;
+        this.inFlight = new PromiseHandler<?>[parallelism];
+        this.buffer = new Object[parallelism];
+        this.ready = new boolean[parallelism];
+        this.freeSlots = new int[parallelism];
+        for (int slot = 0; slot < parallelism; slot++) {
+            freeSlots[slot] = parallelism - 1 - slot;
+        }
+        this.freeCount = parallelism;
+        onCancel(() -> {
+            stopped = true;
+            schedule();
+        });
+    }
+
+    @Override
+    public void invoke() {
+        if (invoked) {
+            throw new IllegalStateException("PromiseHandler can only be invoked once");
+        }
+        invoked = true;
+        schedule();
+    }
+
+    @Override
+    public boolean isInvokable() {
+        return true;
+    }
+
+    private void schedule() {
+        if (reactor.isPresent()) {
+            reactor.get().deferRun(this::drain);
+        } else {
+            drain();
+        }
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            try {
+                Completion completion;
+                while (!complete() && (completion = completions.poll()) != null) {
+                    handle(completion);
+                }
+                if (complete() || stopped) {
+                    /* Failed or cancelled, release what is left. */
+                    cancelInFlight();
+                } else {
+                    issue();
+                    if (exhausted && running == 0 && emitted == issued) {
+                        resolve();
+                    }
+                }
+            } catch (Exception ex) {
+                fail(ex);
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void handle(final Completion completion) {
+        final int slot = completion.slot;
+        final PromiseHandler<R> child = (PromiseHandler<R>) completion.child;
+        inFlight[slot] = null;
+        running--;
+        if (child.failure()) {
+            fail(child.cause());
+            return;
+        }
+        final R value = child.get();
+        if (!ordered) {
+            freeSlots[freeCount++] = slot;
+            emitted++;
+            resultConsumer.accept(value);
+            return;
+        }
+        buffer[slot] = value;
+        ready[slot] = true;
+        int next = (int) (emitted % parallelism);
+        while (ready[next]) {
+            final R nextValue = (R) buffer[next];
+            buffer[next] = null;
+            ready[next] = false;
+            emitted++;
+            resultConsumer.accept(nextValue);
+            next = (int) (emitted % parallelism);
+        }
+    }
+
+    private void issue() {
+        while (!complete() && !stopped && !exhausted && canIssue()) {
+            if (!items.hasNext()) {
+                exhausted = true;
+                return;
+            }
+            final T item = items.next();
+            final int slot = ordered ? (int) (issued % parallelism) : freeSlots[--freeCount];
+            issued++;
+            running++;
+            final PromiseHandler<R> child = mapper.apply(item).asHandler();
+            inFlight[slot] = child;
+            child.whenComplete(done -> {
+                completions.add(new Completion(slot, done));
+                schedule();
+            });
+            if (child.isInvokable()) {
+                child.invoke();
+            }
+        }
+    }
+
+    private boolean canIssue() {
+        return ordered ? issued - emitted < parallelism : running < parallelism;
+    }
+
+    private void fail(final Throwable cause) {
+        if (!complete()) {
+            reject(cause);
+        }
+        cancelInFlight();
+    }
+
+    private void cancelInFlight() {
+        for (int slot = 0; slot < parallelism; slot++) {
+            final PromiseHandler<?> child = inFlight[slot];
+            inFlight[slot] = null;
+            buffer[slot] = null;
+            if (child != null) {
+                child.cancel();
+            }
+        }
+        completions.clear();
+    }
+
+    private static final class Completion {
+        private final int slot;
+        private final PromiseHandler<?> child;
+
+        private Completion(final int slot, final PromiseHandler<?> child) {
+            this.slot = slot;
+            this.child = child;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.promise.impl;
+
+import io.advantageous.reakt.Expected;
+import io.advantageous.reakt.Result;
+import io.advantageous.reakt.exception.ThenHandlerException;
+import io.advantageous.reakt.promise.PromiseHandler;
+import io.advantageous.reakt.reactor.Reactor;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * A promise with any number of subscribers.
+ * <p>
+ * Every {@code then}, {@code thenExpect}, {@code catchError} and {@code whenComplete} call adds a subscriber
+ * instead of replacing the previous handler. Subscribers are pushed onto a lock free stack in O(1), and are
+ * dispatched in the order they subscribed when the result arrives. Once the result is in, new subscribers are
+ * called right away and the stack is dropped, so no listener storage is kept after dispatch.
+ * <p>
+ * A subscriber that throws does not stop the others. A {@code thenSafe} subscriber that throws reports a
+ * {@link ThenHandlerException} to the {@code catchError} subscribers, any other exception is rethrown
+ * after every subscriber was called.
+ *
+ * @param <T> type of result
+ * @author Rick Hightower
+ */
+public class MulticastPromise<T> extends BasePromise<T> {
+
+    /**
+     * Marks that subscribers have been dispatched.
+     */
+    private static final Node DISPATCHED = new Node(null, null);
+
+    private final AtomicReference<Node> subscribers = new AtomicReference<>();
+
+    @Override
+    public PromiseHandler<T> then(final Consumer<T> consumer) {
+        return subscribe(node(promise -> {
+            if (promise.success()) {
+                consumer.accept(promise.get());
+            }
+        }, null));
+    }
+
+    @Override
+    public PromiseHandler<T> thenExpect(final Consumer<Expected<T>> consumer) {
+        return subscribe(node(promise -> {
+            if (promise.success()) {
+                consumer.accept(promise.expect());
+            }
+        }, null));
+    }
+
+    @Override
+    public PromiseHandler<T> thenSafe(final Consumer<T> consumer) {
+        return then(safely(consumer));
+    }
+
+    @Override
+    public PromiseHandler<T> thenSafeExpect(final Consumer<Expected<T>> consumer) {
+        return thenExpect(safely(consumer));
+    }
+
+    @Override
+    public PromiseHandler<T> catchError(final Consumer<Throwable> consumer) {
+        return subscribe(node(promise -> {
+            if (promise.failure()) {
+                consumer.accept(promise.cause());
+            }
+        }, consumer));
+    }
+
+    @Override
+    public PromiseHandler<T> whenComplete(final Consumer<PromiseHandler<T>> doneListener) {
+        return subscribe(node(doneListener, null));
+    }
+
+    /**
+     * Subscribers stay with this promise. The returned reactor promise gets the result and replays it
+     * to its own handlers on the reactor thread.
+     *
+     * @param reactor reactor to use
+     * @return reactor promise
+     */
+    @Override
+    public PromiseHandler<T> invokeWithReactor(final Reactor reactor) {
+        return relayTo(reactor.<T>promise().asHandler());
+    }
+
+    @Override
+    public PromiseHandler<T> invokeWithReactor(final Reactor reactor, final Duration timeout) {
+        return relayTo(reactor.<T>promise(timeout).asHandler());
+    }
+
+    @Override
+    protected void doOnResult(final Result<T> result) {
+        Node node = subscribers.getAndSet(DISPATCHED);
+        /* The stack holds the newest subscriber first, reverse it to dispatch in subscription order. */
+        Node ordered = null;
+        while (node != null) {
+            final Node next = node.next;
+            node.next = ordered;
+            ordered = node;
+            node = next;
+        }
+        RuntimeException failure = null;
+        for (Node current = ordered; current != null; current = current.next) {
+            try {
+                dispatch(current.listener);
+            } catch (ThenHandlerException ex) {
+                reportToErrorHandlers(ordered, ex);
+            } catch (RuntimeException ex) {
+                if (failure == null) {
+                    failure = ex;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void dispatch(final Consumer<?> listener) {
+        ((Consumer<PromiseHandler<T>>) listener).accept(this);
+    }
+
+    private Node node(final Consumer<PromiseHandler<T>> listener, final Consumer<Throwable> errorHandler) {
+        return new Node(listener, errorHandler);
+    }
+
+    private PromiseHandler<T> subscribe(final Node node) {
+        while (true) {
+            final Node head = subscribers.get();
+            if (head == DISPATCHED) {
+                dispatch(node.listener);
+                return this;
+            }
+            node.next = head;
+            if (subscribers.compareAndSet(head, node)) {
+                return this;
+            }
+        }
+    }
+
+    private PromiseHandler<T> relayTo(final PromiseHandler<T> reactorPromise) {
+        whenComplete(promise -> reactorPromise.onResult(result.get()));
+        return reactorPromise;
+    }
+
+    private <V> Consumer<V> safely(final Consumer<V> consumer) {
+        return value -> {
+            try {
+                consumer.accept(value);
+            } catch (Exception ex) {
+                throw new ThenHandlerException(ex);
+            }
+        };
+    }
+
+    /**
+     * Sends the exception of a safe subscriber to the catchError subscribers.
+     */
+    private void reportToErrorHandlers(final Node subscribers, final ThenHandlerException exception) {
+        for (Node current = subscribers; current != null; current = current.next) {
+            if (current.errorHandler != null) {
+                try {
+                    current.errorHandler.accept(exception);
+                } catch (RuntimeException ignored) {
+                    /* An error handler that fails has nobody left to report to. */
+                }
+            }
+        }
+    }
+
+    private static final class Node {
+        private final Consumer<?> listener;
+        private final Consumer<Throwable> errorHandler;
+        private Node next;
+
+        private Node(final Consumer<?> listener, final Consumer<Throwable> errorHandler) {
+            this.listener = listener;
+            this.errorHandler = errorHandler;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.promise.impl;
+
+import io.advantageous.reakt.Expected;
+import io.advantageous.reakt.Result;
+import io.advantageous.reakt.promise.Promise;
+import io.advantageous.reakt.promise.PromiseHandler;
+import io.advantageous.reakt.promise.PromiseScope;
+import io.advantageous.reakt.reactor.Reactor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Scope that tracks its running children in a concurrent set.
+ * <p>
+ * {@code pending} counts the running children plus one for the open scope, so the scope
+ * cannot complete before {@link #close()} is called.
+ *
+ * @author Rick Hightower
+ */
+public class PromiseScopeImpl implements PromiseScope {
+
+    private final Set<PromiseHandler<?>> children = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger pending = new AtomicInteger(1);
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final BasePromise<Void> completion = new BasePromise<>();
+
+    public PromiseScopeImpl(final Expected<Reactor> reactor, final Duration deadline) {
+        completion.onCancel(this::cancelChildren);
+        reactor.ifPresent(theReactor -> theReactor.runTaskAfter(deadline, () -> {
+            if (!completion.complete()) {
+                fail(new TimeoutException("Promise scope deadline of " + deadline.toMillis() + " ms passed"));
+            }
+        }));
+    }
+
+    @Override
+    public <T> Promise<T> promise() {
+        return add(new BasePromise<>());
+    }
+
+    @Override
+    public <T> Promise<T> add(final Promise<T> promise) {
+        if (closed.get()) {
+            throw new IllegalStateException("Promise scope is closed");
+        }
+        final PromiseHandler<T> child = promise.asHandler();
+        if (completion.complete()) {
+            child.cancel();
+            return promise;
+        }
+        pending.incrementAndGet();
+        children.add(child);
+        child.whenComplete(this::childDone);
+        /* The scope may have failed while the child was being added. */
+        if (completion.complete() && children.remove(child)) {
+            child.cancel();
+        }
+        return promise;
+    }
+
+    @Override
+    public Promise<Void> close() {
+        if (closed.compareAndSet(false, true)) {
+            release();
+        }
+        return completion;
+    }
+
+    @Override
+    public void cancel() {
+        fail(new CancellationException("Promise scope was cancelled"));
+    }
+
+    @Override
+    public int active() {
+        return children.size();
+    }
+
+    private void childDone(final PromiseHandler<?> child) {
+        children.remove(child);
+        if (child.failure()) {
+            fail(child.cause());
+        } else {
+            release();
+        }
+    }
+
+    private void release() {
+        if (pending.decrementAndGet() == 0) {
+            completion.onResult(Result.doneResult());
+        }
+    }
+
+    private void fail(final Throwable cause) {
+        if (completion.complete()) {
+            return;
+        }
+        completion.onResult(Result.error(cause));
+        cancelChildren();
+    }
+
+    private void cancelChildren() {
+        final List<PromiseHandler<?>> running = new ArrayList<>(children);
+        children.clear();
+        running.forEach(PromiseHandler::cancel);
+    }
+}
@@ -19,15 +19,20 @@
 package io.advantageous.reakt.promise.impl;
 
 import io.advantageous.reakt.Result;
+import io.advantageous.reakt.exception.PromiseTimeoutException;
 import io.advantageous.reakt.exception.RejectedPromiseException;
 import io.advantageous.reakt.promise.Promise;
 import io.advantageous.reakt.promise.PromiseHandler;
 import io.advantageous.reakt.promise.Promises;
+import io.advantageous.reakt.reactor.TimeSource;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -56,6 +61,7 @@ public interface PromiseUtil {
                 if (done.compareAndSet(false, true)) {
                     parent.asHandler().reject(childPromise.cause());
                     count.set(-1);
+                    cancelAll(childPromises);
                 }
             } else {
                 /** If the count is 0, then we are done. */
@@ -71,6 +77,8 @@ public interface PromiseUtil {
         for (Promise<T> childPromise : childPromises) {
             childPromise.asHandler().whenComplete(consumer);
         }
+        /** Cancelling the parent, or timing it out, cancels the children still running. */
+        parent.asHandler().onCancel(() -> cancelAll(childPromises));
     }
 
     /**
@@ -98,11 +106,95 @@ public interface PromiseUtil {
                     parent.asHandler().reject(childPromise.cause());
                 }
             }
-
+            /** The race is decided, the losers are cancelled. */
+            cancelAll(childPromises);
         };
         for (Promise<T> childPromise : childPromises) {
             childPromise.asHandler().whenComplete(runnable);
         }
+        parent.asHandler().onCancel(() -> cancelAll(childPromises));
+    }
+
+    /**
+     * Does the allSettled logic without a time budget, the parent is resolved once all children have completed.
+     *
+     * @param parent        parent
+     * @param childPromises children
+     * @param <T>           type of result
+     */
+    static <T> void allSettled(final PromiseHandler<List<Result<T>>> parent, final List<Promise<T>> childPromises) {
+        allSettled(parent, childPromises, System::currentTimeMillis, 0);
+    }
+
+    /**
+     * Does the allSettled logic.
+     * The parent is resolved with the result of every child, in the order of the children, once all children
+     * have completed. Call the returned runnable to resolve the parent right away, children that have not
+     * completed by then get a {@code TimeoutException} result and are cancelled.
+     *
+     * @param parent        parent
+     * @param childPromises children
+     * @param timeSource    clock that timeouts are reported against
+     * @param budgetMillis  time the children were given, reported as the timeout duration
+     * @param <T>           type of result
+     * @return runnable that settles the parent with the results that are in
+     */
+    static <T> Runnable allSettled(final PromiseHandler<List<Result<T>>> parent,
+                                   final List<Promise<T>> childPromises,
+                                   final TimeSource timeSource,
+                                   final long budgetMillis) {
+        final int size = childPromises.size();
+        final AtomicReferenceArray<Result<T>> results = new AtomicReferenceArray<>(size);
+        final AtomicInteger count = new AtomicInteger(size);
+        final AtomicBoolean done = new AtomicBoolean();
+        final long startTime = timeSource.getTime();
+
+        final Runnable settle = () -> {
+            if (!done.compareAndSet(false, true)) {
+                return;
+            }
+            final List<Result<T>> settled = new ArrayList<>(size);
+            final long now = timeSource.getTime();
+            for (int index = 0; index < size; index++) {
+                Result<T> result = results.get(index);
+                if (result == null) {
+                    result = Result.error(PromiseTimeoutException.timeout(startTime, budgetMillis, now));
+                    childPromises.get(index).cancel();
+                }
+                settled.add(result);
+            }
+            parent.resolve(settled);
+        };
+
+        if (size == 0) {
+            settle.run();
+            return settle;
+        }
+        for (int index = 0; index < size; index++) {
+            final int slot = index;
+            childPromises.get(index).asHandler().whenComplete(child -> {
+                /* Copy the outcome so the list does not hold on to the child promise and its handlers. */
+                results.set(slot, child.success() ? Result.result(child.get()) : Result.error(child.cause()));
+                if (count.decrementAndGet() == 0) {
+                    settle.run();
+                }
+            });
+        }
+        return settle;
+    }
+
+    /**
+     * Cancels every promise that has not completed yet.
+     *
+     * @param promises promises to cancel
+     * @param <T>      type of result
+     */
+    static <T> void cancelAll(Promise<T>[] promises) {
+        for (Promise<T> promise : promises) {
+            if (!promise.asHandler().complete()) {
+                promise.cancel();
+            }
+        }
     }
 
     static <T, U> PromiseHandler<U> mapPromise(PromiseHandler<T> thisPromise, Function<? super T, ? extends U> mapper) {
@@ -111,10 +203,13 @@ public interface PromiseUtil {
             if (promise.success()) {
                 final U mapped = mapper.apply(promise.get());
                 mappedPromise.resolve(mapped);
+            } else if (promise.isCancelled()) {
+                mappedPromise.cancel();
             } else {
                 mappedPromise.reject(promise.cause());
             }
         });
+        mappedPromise.onCancel(thisPromise::cancel);
         return mappedPromise;
     }
 
@@ -20,18 +20,21 @@ package io.advantageous.reakt.promise.impl;
 
 import io.advantageous.reakt.Expected;
 import io.advantageous.reakt.Result;
+import io.advantageous.reakt.exception.PromiseTimeoutException;
 import io.advantageous.reakt.impl.ResultImpl;
 import io.advantageous.reakt.promise.PromiseHandler;
 import io.advantageous.reakt.promise.ReplayPromise;
+import io.advantageous.reakt.reactor.Deadline;
 
 import java.time.Duration;
-import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 
 public class ReplayPromiseImpl<T> extends BasePromise<T> implements ReplayPromise<T> {
 
     private final Duration timeoutDuration;
+    private long timeoutMillis;
+    private Expected<Deadline> deadline = Expected.empty();
     private final long startTime;
     private final AtomicBoolean replayed = new AtomicBoolean();
     private Expected<Runnable> timeoutHandler = Expected.empty();
@@ -41,6 +44,7 @@ public class ReplayPromiseImpl<T> extends BasePromise<T> implements ReplayPromis
     public ReplayPromiseImpl(final Duration timeout, final long startTime) {
 
         this.timeoutDuration = timeout;
+        this.timeoutMillis = timeout.toMillis();
         this.startTime = startTime;
     }
 
@@ -58,7 +62,7 @@ public class ReplayPromiseImpl<T> extends BasePromise<T> implements ReplayPromis
     public boolean checkTimeout(final long time) {
 
         if (!complete()) {
-            if ((time - startTime) > timeoutDuration.toMillis()) {
+            if ((time - startTime) > timeoutMillis) {
                 handleTimeout(time);
                 return true;
             } else {
@@ -76,11 +80,21 @@ public class ReplayPromiseImpl<T> extends BasePromise<T> implements ReplayPromis
 
     private void handleTimeout(long time) {
         timeoutHandler.ifPresent(Runnable::run);
-        result.set(new ResultImpl<>(
-                new TimeoutException(String.format("Operation timed out start time %d timeout " +
-                                "duration ms %d time %d elapsed time %d",
-                        startTime, timeoutDuration.toMillis(), time, time - startTime))));
+        result.set(new ResultImpl<>(PromiseTimeoutException.timeout(startTime, timeoutMillis, time)));
         replay();
+        fireCancelHandlers();
+    }
+
+    @Override
+    public ReplayPromise<T> withDeadline(final Deadline deadline) {
+        this.deadline = Expected.of(deadline);
+        timeoutMillis = Math.min(timeoutDuration.toMillis(), deadline.expiresAt() - startTime);
+        return this;
+    }
+
+    @Override
+    public Expected<Deadline> deadline() {
+        return deadline;
     }
 
     @Override
@@ -0,0 +1,91 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.promise.impl;
+
+import java.util.ArrayDeque;
+
+/**
+ * Runs promise completions for one thread.
+ * <p>
+ * A completion that runs while fewer than {@code reakt.trampolineDepth} (default 64) completions are already
+ * on the stack runs right away, so a single level completion costs a thread local lookup and a counter
+ * and allocates nothing.
+ * Deeper completions are queued and run by the outermost completion once its handlers return, which turns a
+ * deep {@code thenMap} or {@code thenPromise} chain into a loop whose length is bounded by the heap.
+ *
+ * @author Rick Hightower
+ */
+final class Trampoline {
+
+    private static final int MAX_DEPTH = Integer.getInteger("reakt.trampolineDepth", 64);
+    private static final ThreadLocal<Trampoline> TRAMPOLINE = ThreadLocal.withInitial(Trampoline::new);
+
+    private final ArrayDeque<Runnable> pending = new ArrayDeque<>();
+    private int depth;
+
+    private Trampoline() {
+    }
+
+    static Trampoline current() {
+        return TRAMPOLINE.get();
+    }
+
+    /**
+     * @return true if the completion can run now, it must then call {@link #exit()} when done
+     */
+    boolean enter() {
+        if (depth >= MAX_DEPTH) {
+            return false;
+        }
+        depth++;
+        return true;
+    }
+
+    void exit() {
+        depth--;
+        if (depth == 0 && !pending.isEmpty()) {
+            drain();
+        }
+    }
+
+    void defer(final Runnable completion) {
+        pending.add(completion);
+    }
+
+    private void drain() {
+        RuntimeException failure = null;
+        Runnable next;
+        while ((next = pending.poll()) != null) {
+            depth++;
+            try {
+                next.run();
+            } catch (RuntimeException ex) {
+                /* Keep draining so no completion is left behind for an unrelated caller. */
+                if (failure == null) {
+                    failure = ex;
+                }
+            } finally {
+                depth--;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
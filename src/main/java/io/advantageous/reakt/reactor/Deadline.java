@@ -0,0 +1,113 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.reactor;
+
+import java.time.Duration;
+
+/**
+ * Point in time by which a request, and all the work it fans out to, has to be done.
+ * <p>
+ * Times are in the milliseconds of the {@link TimeSource} the deadline was created with.
+ *
+ * @author Rick Hightower
+ */
+public final class Deadline {
+
+    private final TimeSource timeSource;
+    private final long expiresAt;
+
+    private Deadline(final TimeSource timeSource, final long expiresAt) {
+        this.timeSource = timeSource;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Creates a deadline that expires after the budget.
+     *
+     * @param timeSource time source
+     * @param budget     time left
+     * @return deadline
+     */
+    public static Deadline deadline(final TimeSource timeSource, final Duration budget) {
+        return new Deadline(timeSource, timeSource.getTime() + budget.toMillis());
+    }
+
+    /**
+     * Creates a deadline that expires at the given time.
+     *
+     * @param timeSource time source
+     * @param expiresAt  time in milliseconds of the time source
+     * @return deadline
+     */
+    public static Deadline deadlineAt(final TimeSource timeSource, final long expiresAt) {
+        return new Deadline(timeSource, expiresAt);
+    }
+
+    /**
+     * @return time in milliseconds of the time source at which this deadline expires
+     */
+    public long expiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * @return milliseconds left, zero or negative once expired
+     */
+    public long remainingMillis() {
+        return expiresAt - timeSource.getTime();
+    }
+
+    /**
+     * @return time left, zero once expired
+     */
+    public Duration remaining() {
+        return Duration.ofMillis(Math.max(0, remainingMillis()));
+    }
+
+    /**
+     * Use this to skip work early when nobody will read the answer.
+     *
+     * @return true if no time is left
+     */
+    public boolean expired() {
+        return remainingMillis() <= 0;
+    }
+
+    /**
+     * @param timeout timeout
+     * @return the smaller of the timeout and the time left
+     */
+    public Duration clamp(final Duration timeout) {
+        final long remaining = Math.max(0, remainingMillis());
+        return timeout.toMillis() <= remaining ? timeout : Duration.ofMillis(remaining);
+    }
+
+    /**
+     * @param other other deadline
+     * @return whichever deadline expires first
+     */
+    public Deadline earliest(final Deadline other) {
+        return other.expiresAt < expiresAt ? other : this;
+    }
+
+    @Override
+    public String toString() {
+        return "Deadline{expiresAt=" + expiresAt + ", remainingMillis=" + remainingMillis() + '}';
+    }
+}
@@ -18,14 +18,22 @@
 
 package io.advantageous.reakt.reactor;
 
+import io.advantageous.reakt.Expected;
+import io.advantageous.reakt.Result;
+import io.advantageous.reakt.Stream;
 import io.advantageous.reakt.promise.Promise;
 import io.advantageous.reakt.reactor.impl.ReactorImpl;
+import io.advantageous.reakt.stream.OverflowStrategy;
 
 import java.time.Duration;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Ensures that tasks, repeating tasks and callbacks run in the callers thread.
@@ -80,6 +88,58 @@ public interface Reactor {
 
     <T> Promise<T> promise(Duration timeout);
 
+    /**
+     * Create a named promise that is managed by this Reactor.
+     * The time from creation to when the result arrives, before it is replayed on the reactor thread, and
+     * whether the promise succeeded, failed or timed out, is recorded under the name in
+     * {@link io.advantageous.reakt.metrics.PromiseMetrics#metrics()}.
+     *
+     * @param name    name of the promise, i.e., {@code "lookupEmployee"}
+     * @param timeout timeout
+     * @param <T>     type of result
+     * @return new promise
+     */
+    <T> Promise<T> promise(String name, Duration timeout);
+
+    /**
+     * Runs the supplier on the executor and replays its result on this reactor's thread.
+     * Use this to keep CPU heavy work, i.e., parsing or loading, off of the reactor thread.
+     *
+     * @param executor executor that runs the supplier
+     * @param supplier computes the result
+     * @param <T>      type of result
+     * @return new promise managed by this reactor, already invoked
+     */
+    <T> Promise<T> supplyAsync(Executor executor, Supplier<T> supplier);
+
+    /**
+     * Runs the body with a deadline of now plus the budget, or the current deadline if that comes first.
+     * <p>
+     * Promises this reactor creates while the body runs get the smaller of their own timeout and the time left,
+     * and are rejected with a {@code TimeoutException} right away if no time is left. The deadline is restored
+     * when their handlers are replayed, so promises created from the handlers inherit it as well.
+     *
+     * @param budget time left to handle the request
+     * @param body   code that creates child promises
+     */
+    void withDeadline(Duration budget, Runnable body);
+
+    /**
+     * Runs the body with the given deadline, or the current deadline if that comes first.
+     *
+     * @param deadline deadline
+     * @param body     code that creates child promises
+     */
+    void withDeadline(Deadline deadline, Runnable body);
+
+    /**
+     * Deadline of the code that is running now on this thread.
+     * Use it to skip work early, i.e., {@code reactor.deadline().filter(Deadline::expired).isPresent()}.
+     *
+     * @return current deadline, or empty if there is none
+     */
+    Expected<Deadline> deadline();
+
 
     /**
      * All promises must complete.
@@ -154,6 +214,96 @@ public interface Reactor {
      */
     <T> Promise<Void> any(final Duration timeout, final List<Promise<T>> promises);
 
+    /**
+     * Waits for every promise and returns the result of each one, in order, on the reactor thread.
+     * A failed child shows up as a failed result instead of failing the group.
+     *
+     * @param promises promises
+     * @param <T>      types of promise
+     * @return promise of the results
+     */
+    <T> Promise<List<Result<T>>> allSettled(final List<Promise<T>> promises);
+
+    /**
+     * Scatter gather with a deadline.
+     * Completes with every result once all promises are done, or at the deadline with the results that have
+     * arrived. Promises that are missing at the deadline get a failed result with a {@code TimeoutException}
+     * and are cancelled. Use it to serve a degraded answer instead of timing out.
+     * <p>
+     * The deadline is clamped to the current deadline, see {@link #withDeadline(Duration, Runnable)}.
+     *
+     * @param deadline time to wait for results
+     * @param promises promises
+     * @param <T>      types of promise
+     * @return promise of the results
+     */
+    <T> Promise<List<Result<T>>> gather(final Duration deadline, final List<Promise<T>> promises);
+
+    /**
+     * Reactor confined version of {@link io.advantageous.reakt.promise.Promises#mapAsync}.
+     * Completions are handed to this reactor, so the next item is pulled, and the consumer and the returned
+     * promise's handlers are called, on the reactor thread only.
+     *
+     * @param items          items
+     * @param mapper         async function, invokable promises it returns are invoked
+     * @param parallelism    max calls in flight
+     * @param ordered        true to emit results in the order of the items
+     * @param resultConsumer receives the results
+     * @param <T>            type of item
+     * @param <R>            type of result
+     * @return invokable promise that completes when all items are mapped
+     */
+    <T, R> Promise<Void> mapAsync(final Iterable<? extends T> items,
+                                  final Function<? super T, ? extends Promise<R>> mapper,
+                                  final int parallelism,
+                                  final boolean ordered,
+                                  final Consumer<? super R> resultConsumer);
+
+    /**
+     * Returns a stream that producers on any thread can send to, the items are handed to the consumer in order
+     * on the reactor thread when {@link #process()} runs, so the consumer needs no locking.
+     * <p>
+     * Uses a buffer of 1024 items, delivers at most 256 items per stream per process, has no idle timeout, and
+     * fails the stream if the producer overruns the buffer.
+     * <p>
+     * The reactor holds the stream until it completes or fails. A stream that never ends stays with the reactor,
+     * so close it by calling {@code complete} or {@code fail} on the returned stream, or give it an idle timeout
+     * with {@link #stream(Stream, int, int, Duration, OverflowStrategy)}.
+     *
+     * @param consumer stream called on the reactor thread, results are only valid during its onNext
+     * @param <T>      type of item
+     * @return stream for producers
+     */
+    <T> Stream<T> stream(final Stream<T> consumer);
+
+    /**
+     * Returns a stream that producers on any thread can send to, the items are handed to the consumer in order
+     * on the reactor thread when {@link #process()} runs.
+     * <p>
+     * Items wait in a buffer of {@code capacity} slots, and the producer is asked for more with
+     * {@link io.advantageous.reakt.StreamResult#request(long)} as the reactor delivers them, one request per
+     * process. Each process delivers at most {@code batchSize} items, the rest wait for the next one.
+     * If nothing is sent or delivered for {@code idleTimeout}, the producer is cancelled and the consumer gets a
+     * {@link java.util.concurrent.TimeoutException}.
+     * The reactor holds the stream until it completes, fails or times out, so without an idle timeout close it
+     * by calling {@code complete} or {@code fail} on the returned stream.
+     *
+     * @param consumer    stream called on the reactor thread, results are only valid during its onNext
+     * @param capacity    buffer size
+     * @param batchSize   max items delivered per process
+     * @param idleTimeout idle timeout, {@link Duration#ZERO} for none
+     * @param strategy    what to do when the producer overruns the buffer, anything but
+     *                    {@link OverflowStrategy#BLOCK} since producers may run on the reactor thread that drains
+     * @param <T>         type of item
+     * @return stream for producers
+     * @throws IllegalArgumentException if the strategy is {@link OverflowStrategy#BLOCK}
+     */
+    <T> Stream<T> stream(final Stream<T> consumer,
+                         final int capacity,
+                         final int batchSize,
+                         final Duration idleTimeout,
+                         final OverflowStrategy strategy);
+
     /**
      * Add a repeating task that will run every interval
      *
@@ -182,6 +332,17 @@ public interface Reactor {
      */
     void process();
 
+    /**
+     * Time source used by this reactor to check timeouts and schedule tasks.
+     * Defaults to the system clock so that existing implementations keep working, override it to share the
+     * reactor's clock.
+     *
+     * @return the time source of this reactor
+     */
+    default TimeSource timeSource() {
+        return System::currentTimeMillis;
+    }
+
     /**
      * Returns a String promise
      *
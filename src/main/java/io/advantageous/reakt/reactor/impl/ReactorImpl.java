@@ -21,18 +21,29 @@ package io.advantageous.reakt.reactor.impl;
 import io.advantageous.reakt.CallbackHandler;
 import io.advantageous.reakt.Expected;
 import io.advantageous.reakt.Result;
+import io.advantageous.reakt.Stream;
+import io.advantageous.reakt.exception.PromiseTimeoutException;
+import io.advantageous.reakt.metrics.PromiseMetrics;
+import io.advantageous.reakt.metrics.PromiseStats;
 import io.advantageous.reakt.promise.Promise;
 import io.advantageous.reakt.promise.PromiseHandler;
+import io.advantageous.reakt.promise.Promises;
+import io.advantageous.reakt.promise.impl.MapAsync;
+import io.advantageous.reakt.promise.impl.PromiseUtil;
 import io.advantageous.reakt.promise.ReplayPromise;
+import io.advantageous.reakt.reactor.Deadline;
 import io.advantageous.reakt.reactor.Reactor;
 import io.advantageous.reakt.reactor.TimeSource;
+import io.advantageous.reakt.stream.OverflowStrategy;
 
 import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
 import java.util.concurrent.LinkedTransferQueue;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static io.advantageous.reakt.promise.Promises.*;
@@ -45,6 +56,10 @@ public class ReactorImpl implements Reactor {
     private final BlockingQueue<ReplayPromise> replyPromiseQueue = new LinkedTransferQueue<>();
     private final BlockingQueue<Runnable> deferRuns = new LinkedTransferQueue<>();
     private final List<ReplayPromise> notCompletedPromises = new ArrayList<>();
+    private final ThreadLocal<Deadline> deadlineContext = new ThreadLocal<>();
+    private final BlockingQueue<ReactorStream<?>> replyStreamQueue = new LinkedTransferQueue<>();
+    private final List<ReactorStream<?>> readyStreams = new ArrayList<>();
+    private final List<ReactorStream<?>> streams = new ArrayList<>();
 
 
     private BlockingQueue<FireOnceTask> fireOnceAfterTaskQueue = new LinkedTransferQueue<>();
@@ -79,6 +94,56 @@ public class ReactorImpl implements Reactor {
     }
 
 
+    @Override
+    public <T> Promise<T> promise(final String name, final Duration timeout) {
+        final PromiseStats stats = PromiseMetrics.metrics().stats(name);
+        final long startTime = System.nanoTime();
+        final ReplayPromise<T> promise = replayPromise(timeout, timeSource.getTime());
+        /* Record when the result arrives, not when it is replayed on the next process. */
+        promise.onTimeout(() -> stats.recordTimeout(System.nanoTime() - startTime));
+        return addPromiseToProcessingQueue(promise, completed -> {
+            stats.record(System.nanoTime() - startTime, completed);
+            replyPromiseQueue.add(completed);
+        });
+    }
+
+    @Override
+    public <T> Promise<T> supplyAsync(final Executor executor, final Supplier<T> supplier) {
+        final Promise<T> promise = promise();
+        Promises.<T>supplyAsync(executor, supplier).asHandler().invokeWithPromise(promise);
+        return promise;
+    }
+
+
+    @Override
+    public void withDeadline(final Duration budget, final Runnable body) {
+        withDeadline(Deadline.deadline(timeSource, budget), body);
+    }
+
+    @Override
+    public void withDeadline(final Deadline deadline, final Runnable body) {
+        final Deadline parent = deadlineContext.get();
+        deadlineContext.set(parent == null ? deadline : parent.earliest(deadline));
+        try {
+            body.run();
+        } finally {
+            restoreDeadline(parent);
+        }
+    }
+
+    @Override
+    public Expected<Deadline> deadline() {
+        return Expected.ofNullable(deadlineContext.get());
+    }
+
+    private void restoreDeadline(final Deadline parent) {
+        if (parent == null) {
+            deadlineContext.remove();
+        } else {
+            deadlineContext.set(parent);
+        }
+    }
+
     @Override
     public Promise<Void> all(Promise<?>... promises) {
         return all(defaultTimeout, promises);
@@ -133,6 +198,57 @@ public class ReactorImpl implements Reactor {
         );
     }
 
+    @Override
+    public <T> Promise<List<Result<T>>> allSettled(final List<Promise<T>> promises) {
+        final Promise<List<Result<T>>> promise = promise();
+        PromiseUtil.allSettled(promise.asHandler(), promises);
+        return promise;
+    }
+
+    @Override
+    public <T> Promise<List<Result<T>>> gather(final Duration deadline, final List<Promise<T>> promises) {
+        final Duration gatherFor = deadline().map(current -> current.clamp(deadline)).orElse(deadline);
+        /* The reactor timeout is only a backstop, the gather completes at its deadline, so it is not clamped. */
+        final ReplayPromise<List<Result<T>>> promise = replayPromise(gatherFor.plus(defaultTimeout),
+                timeSource.getTime());
+        queuePromise(promise);
+        final Runnable settle = PromiseUtil.allSettled(promise.asHandler(), promises, timeSource,
+                gatherFor.toMillis());
+        runTaskAfter(gatherFor, settle);
+        return promise;
+    }
+
+    @Override
+    public <T, R> Promise<Void> mapAsync(final Iterable<? extends T> items,
+                                         final Function<? super T, ? extends Promise<R>> mapper,
+                                         final int parallelism,
+                                         final boolean ordered,
+                                         final Consumer<? super R> resultConsumer) {
+        return new MapAsync<>(items, mapper, parallelism, ordered, resultConsumer, Expected.of(this));
+    }
+
+    @Override
+    public <T> Stream<T> stream(final Stream<T> consumer) {
+        return stream(consumer, ReactorStream.DEFAULT_CAPACITY, ReactorStream.DEFAULT_BATCH_SIZE,
+                Duration.ZERO, OverflowStrategy.FAIL);
+    }
+
+    @Override
+    public <T> Stream<T> stream(final Stream<T> consumer,
+                                final int capacity,
+                                final int batchSize,
+                                final Duration idleTimeout,
+                                final OverflowStrategy strategy) {
+        if (strategy == OverflowStrategy.BLOCK) {
+            /* Only the reactor thread drains, so a producer on the reactor thread would wait forever. */
+            throw new IllegalArgumentException("BLOCK is not supported by reactor streams");
+        }
+        final ReactorStream<T> stream = new ReactorStream<>(consumer, capacity, batchSize, idleTimeout.toMillis(),
+                strategy, timeSource, replyStreamQueue::add);
+        deferRun(() -> streams.add(stream));
+        return stream;
+    }
+
     @Override
     public void addRepeatingTask(final Duration interval, final Runnable runnable) {
         repeatingTaskQueue.add(new RepeatingTask(runnable, interval.toMillis()));
@@ -156,6 +272,12 @@ public class ReactorImpl implements Reactor {
         processRepeatingTasks();
         processFireOnceTasks();
         processAsyncPromisesReturns();
+        processStreams();
+    }
+
+    @Override
+    public TimeSource timeSource() {
+        return timeSource;
     }
 
     private void copyTaskQueues() {
@@ -267,15 +389,66 @@ public class ReactorImpl implements Reactor {
         ReplayPromise poll = replyPromiseQueue.poll();
 
         while (poll != null) {
-            poll.replay();
+            final Expected<Deadline> deadline = poll.deadline();
+            if (deadline.isPresent()) {
+                replayWithDeadline(poll, deadline.get());
+            } else {
+                poll.replay();
+            }
             poll = replyPromiseQueue.poll();
         }
     }
 
 
-    private <T> Promise<T> addPromiseToProcessingQueue(ReplayPromise<T> promise) {
+    private void processStreams() {
+        if (streams.isEmpty()) {
+            return;
+        }
+        /* Only streams ready at the start of this process, a stream refilled while delivering waits a tick. */
+        copyQueueToList(readyStreams, replyStreamQueue);
+        try {
+            readyStreams.forEach(ReactorStream::deliver);
+        } finally {
+            readyStreams.clear();
+        }
+        streams.removeIf(stream -> stream.checkIdle(currentTime));
+    }
+
+    private void replayWithDeadline(final ReplayPromise promise, final Deadline deadline) {
+        final Deadline parent = deadlineContext.get();
+        deadlineContext.set(deadline);
+        try {
+            promise.replay();
+        } finally {
+            restoreDeadline(parent);
+        }
+    }
+
+    private <T> void queuePromise(final ReplayPromise<T> promise) {
+        queuePromise(promise, replyPromiseQueue::add);
+    }
+
+    private <T> void queuePromise(final ReplayPromise<T> promise, final Consumer<ReplayPromise> afterResultProcessed) {
         inputPromiseQueue.add(promise);
-        promise.afterResultProcessed(replyPromiseQueue::add);
+        promise.afterResultProcessed(afterResultProcessed);
+    }
+
+    private <T> Promise<T> addPromiseToProcessingQueue(ReplayPromise<T> promise) {
+        return addPromiseToProcessingQueue(promise, replyPromiseQueue::add);
+    }
+
+    private <T> Promise<T> addPromiseToProcessingQueue(final ReplayPromise<T> promise,
+                                                      final Consumer<ReplayPromise> afterResultProcessed) {
+        queuePromise(promise, afterResultProcessed);
+        final Deadline deadline = deadlineContext.get();
+        if (deadline != null) {
+            promise.withDeadline(deadline);
+            if (deadline.expired()) {
+                /* No time left, do not start work whose answer nobody will read. */
+                final long time = timeSource.getTime();
+                promise.reject(PromiseTimeoutException.timeout(time, 0, time));
+            }
+        }
         return promise;
     }
 
@@ -378,6 +551,33 @@ public class ReactorImpl implements Reactor {
                 complexPromise.onResult(result);
             }
 
+            @Override
+            public ReplayPromise<T> withDeadline(Deadline deadline) {
+                complexPromise.withDeadline(deadline);
+                return this;
+            }
+
+            @Override
+            public Expected<Deadline> deadline() {
+                return complexPromise.deadline();
+            }
+
+            @Override
+            public boolean cancel() {
+                return complexPromise.cancel();
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return complexPromise.isCancelled();
+            }
+
+            @Override
+            public PromiseHandler<T> onCancel(Runnable handler) {
+                complexPromise.onCancel(handler);
+                return this;
+            }
+
             @Override
             public boolean success() {
                 return complexPromise.success();
@@ -0,0 +1,122 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.reactor.impl;
+
+import io.advantageous.reakt.Stream;
+import io.advantageous.reakt.StreamResult;
+import io.advantageous.reakt.exception.PromiseTimeoutException;
+import io.advantageous.reakt.reactor.TimeSource;
+import io.advantageous.reakt.stream.OverflowStrategy;
+import io.advantageous.reakt.stream.StreamBuffer;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Stream that producers send to from any thread, delivered to the consumer by the reactor.
+ * <p>
+ * Items go into a {@link StreamBuffer}. The first item sent while the stream is not already waiting puts it on
+ * the reactor's ready queue, and the reactor drains one batch per process on its own thread.
+ * Idle checks run on the reactor thread as well.
+ *
+ * @param <T> type of item
+ * @author Rick Hightower
+ */
+class ReactorStream<T> implements Stream<T> {
+
+    static final int DEFAULT_CAPACITY = 1024;
+    static final int DEFAULT_BATCH_SIZE = 256;
+
+    private final StreamBuffer<T> buffer;
+    private final int batchSize;
+    private final long idleTimeout;
+    private final TimeSource timeSource;
+    private final Consumer<ReactorStream<?>> ready;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile long lastActivity;
+    private volatile StreamResult<T> upstream;
+
+    ReactorStream(final Stream<T> consumer,
+                  final int capacity,
+                  final int batchSize,
+                  final long idleTimeout,
+                  final OverflowStrategy strategy,
+                  final TimeSource timeSource,
+                  final Consumer<ReactorStream<?>> ready) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be at least 1");
+        }
+        this.buffer = StreamBuffer.streamBuffer(consumer, capacity, strategy);
+        this.batchSize = batchSize;
+        this.idleTimeout = idleTimeout;
+        this.timeSource = timeSource;
+        this.ready = ready;
+        this.lastActivity = timeSource.getTime();
+    }
+
+    @Override
+    public void onNext(final StreamResult<T> result) {
+        upstream = result;
+        lastActivity = timeSource.getTime();
+        buffer.onNext(result);
+        schedule();
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            ready.accept(this);
+        }
+    }
+
+    /**
+     * Delivers one batch, reactor thread only.
+     */
+    void deliver() {
+        scheduled.set(false);
+        if (buffer.drain(batchSize) > 0) {
+            lastActivity = timeSource.getTime();
+        }
+        if (buffer.size() > 0 && !buffer.isDone()) {
+            schedule();
+        }
+    }
+
+    /**
+     * Fails the stream if it was idle too long, reactor thread only.
+     *
+     * @param time current time
+     * @return true if the stream is done and can be forgotten
+     */
+    boolean checkIdle(final long time) {
+        if (buffer.isDone()) {
+            return true;
+        }
+        final long last = lastActivity;
+        if (idleTimeout <= 0 || time - last <= idleTimeout) {
+            return false;
+        }
+        final StreamResult<T> current = upstream;
+        if (current != null) {
+            current.cancel();
+        }
+        buffer.reject(PromiseTimeoutException.timeout(last, idleTimeout, time));
+        deliver();
+        return buffer.isDone();
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.stream;
+
+import io.advantageous.reakt.Expected;
+import io.advantageous.reakt.Stream;
+import io.advantageous.reakt.impl.StreamResultImpl;
+import io.advantageous.reakt.stream.impl.UnbatchingStream;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Stream that gets items in batches, one {@code onNext} per batch.
+ * <p>
+ * High rate producers pay the dispatch, the result and the consumer call once per batch instead of once per
+ * item. Consumers that only handle single items are adapted with {@link #unbatch(Stream)}.
+ * Combine with {@link StreamEmitter} to also drop the per batch result.
+ *
+ * @param <T> type of item
+ * @author Rick Hightower
+ */
+public interface BatchStream<T> extends Stream<List<T>> {
+
+    /**
+     * Adapts a per item stream, each batch is unrolled into one onNext per item.
+     *
+     * @param stream per item stream
+     * @param <T>    type of item
+     * @return batch stream
+     */
+    static <T> BatchStream<T> unbatch(final Stream<T> stream) {
+        return new UnbatchingStream<>(stream);
+    }
+
+    /**
+     * (Service view)
+     * Sends the next batch.
+     *
+     * @param items items, the list is handed over and must not be changed afterwards.
+     */
+    default void replyBatch(final List<T> items) {
+        replyBatch(items, false);
+    }
+
+    /**
+     * (Service view)
+     * Sends the next batch.
+     *
+     * @param items items, the list is handed over and must not be changed afterwards.
+     * @param done  if true signifies that that this is the last batch.
+     */
+    default void replyBatch(final List<T> items, final boolean done) {
+        this.onNext(new StreamResultImpl<>(items, done, Expected.empty(), Expected.empty()));
+    }
+
+    /**
+     * (Service view)
+     * Sends the next batch.
+     *
+     * @param items items, the array is handed over and must not be changed afterwards.
+     * @param done  if true signifies that that this is the last batch.
+     */
+    default void replyBatch(final T[] items, final boolean done) {
+        replyBatch(Arrays.asList(items), done);
+    }
+
+    /**
+     * (Service view)
+     * Sends the next batch with cancel and request more support.
+     *
+     * @param items         items, the list is handed over and must not be changed afterwards.
+     * @param done          if true signifies that that this is the last batch.
+     * @param cancelHandler cancel handler if you support canceling the stream
+     * @param wantsMore     handler so client can request more items, counted in items not batches.
+     */
+    default void replyBatch(final List<T> items, final boolean done,
+                            final Runnable cancelHandler,
+                            final Consumer<Long> wantsMore) {
+        this.onNext(new StreamResultImpl<>(items, done, Expected.of(cancelHandler), Expected.of(wantsMore)));
+    }
+}
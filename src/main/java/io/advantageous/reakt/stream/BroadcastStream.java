@@ -0,0 +1,58 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.stream;
+
+import io.advantageous.reakt.Stream;
+import io.advantageous.reakt.stream.impl.RingBroadcastStream;
+
+/**
+ * Stream that fans one producer out to many subscribers through one pre-allocated ring buffer.
+ * <p>
+ * Items are stored once, each subscriber only keeps a cursor into the ring, so memory does not grow with the
+ * number of subscribers. Publishing takes no lock. A subscriber that falls a full ring behind is handled by the
+ * {@link SlowSubscriberPolicy}. Subscribers pull with {@link BroadcastSubscription#drain(int)} and only see items
+ * published after they subscribed.
+ * <p>
+ * There is one producer at a time, as with any stream.
+ *
+ * @param <T> type of item
+ * @author Rick Hightower
+ */
+public interface BroadcastStream<T> extends Stream<T> {
+
+    /**
+     * Creates a broadcast stream.
+     *
+     * @param capacity ring size, rounded up to a power of two
+     * @param policy   what to do with slow subscribers
+     * @param <T>      type of item
+     * @return broadcast stream
+     */
+    static <T> BroadcastStream<T> broadcastStream(final int capacity, final SlowSubscriberPolicy policy) {
+        return new RingBroadcastStream<>(capacity, policy);
+    }
+
+    /**
+     * Adds a subscriber.
+     *
+     * @param subscriber stream that gets the items on drain, results are only valid during its onNext
+     * @return subscription to drain
+     */
+    BroadcastSubscription subscribe(Stream<T> subscriber);
+}
@@ -0,0 +1,65 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.stream;
+
+/**
+ * One subscriber's view of a {@link BroadcastStream}.
+ * A subscription is drained by one thread at a time, usually the subscriber's own.
+ *
+ * @author Rick Hightower
+ */
+public interface BroadcastSubscription {
+
+    /**
+     * Passes up to max published items to the subscriber, followed by the end of the stream once it reached it.
+     *
+     * @param max max items to deliver
+     * @return number of items delivered
+     */
+    int drain(int max);
+
+    /**
+     * Passes every published item to the subscriber.
+     *
+     * @return number of items delivered
+     */
+    default int drain() {
+        return drain(Integer.MAX_VALUE);
+    }
+
+    /**
+     * @return number of published items this subscriber has not read yet
+     */
+    long lag();
+
+    /**
+     * @return number of items this subscriber missed because they were overwritten
+     */
+    long dropped();
+
+    /**
+     * @return false once cancelled or disconnected for being too slow
+     */
+    boolean isConnected();
+
+    /**
+     * Stops the subscription, the producer no longer waits for it.
+     */
+    void cancel();
+}
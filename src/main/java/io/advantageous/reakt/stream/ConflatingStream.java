@@ -0,0 +1,88 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.stream;
+
+import io.advantageous.reakt.Stream;
+import io.advantageous.reakt.stream.impl.KeyedConflatingStream;
+
+import java.util.function.Function;
+
+/**
+ * Stream stage that keeps only the newest value per key until the consumer asks for more.
+ * <p>
+ * Each key has one slot. An update overwrites the slot, and a key with an undelivered value waits in a dirty
+ * queue in the order it first changed. {@link #drain(int)} hands the consumer the newest value of each dirty key,
+ * so a lagging consumer skips stale updates instead of working through them. Memory is bounded by the number of
+ * keys, not by the update rate, and the producer is never held back.
+ *
+ * @param <K> type of key
+ * @param <T> type of item
+ * @author Rick Hightower
+ */
+public interface ConflatingStream<K, T> extends Stream<T> {
+
+    /**
+     * Creates a conflating stream.
+     *
+     * @param downstream   stream that gets the values on drain, results are only valid during its onNext
+     * @param keyOf        extracts the key of an item
+     * @param expectedKeys number of keys to size the table for, it grows if there are more
+     * @param <K>          type of key
+     * @param <T>          type of item
+     * @return conflating stream
+     */
+    static <K, T> ConflatingStream<K, T> conflatingStream(final Stream<T> downstream,
+                                                          final Function<? super T, ? extends K> keyOf,
+                                                          final int expectedKeys) {
+        return new KeyedConflatingStream<>(downstream, keyOf, expectedKeys);
+    }
+
+    /**
+     * Passes the newest value of up to max dirty keys to the downstream stream, followed by the end of the stream
+     * once no key is dirty. Called by one consumer at a time.
+     *
+     * @param max max values to deliver
+     * @return number of values delivered
+     */
+    int drain(int max);
+
+    /**
+     * Passes the newest value of every dirty key to the downstream stream.
+     *
+     * @return number of values delivered
+     */
+    default int drain() {
+        return drain(Integer.MAX_VALUE);
+    }
+
+    /**
+     * @return number of keys seen
+     */
+    int keys();
+
+    /**
+     * @return number of keys with an undelivered value
+     */
+    int pending();
+
+    /**
+     * @return number of updates that were replaced by a newer one before being delivered
+     */
+    long conflated();
+}
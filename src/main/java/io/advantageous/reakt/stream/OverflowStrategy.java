@@ -0,0 +1,53 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.stream;
+
+/**
+ * What a {@link StreamBuffer} does with an item that arrives when it is full.
+ *
+ * @author Rick Hightower
+ */
+public enum OverflowStrategy {
+
+    /**
+     * The producer waits until the consumer frees a slot.
+     */
+    BLOCK,
+
+    /**
+     * The new item is dropped.
+     */
+    DROP_NEWEST,
+
+    /**
+     * The oldest buffered item is dropped to make room.
+     */
+    DROP_OLDEST,
+
+    /**
+     * The new item replaces the newest buffered item, so the last slot always holds the latest value.
+     */
+    CONFLATE_LATEST,
+
+    /**
+     * The upstream is cancelled and the stream fails with a
+     * {@link io.advantageous.reakt.exception.StreamOverflowException} after the buffered items.
+     */
+    FAIL
+}
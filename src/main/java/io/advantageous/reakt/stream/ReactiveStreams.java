@@ -0,0 +1,83 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.stream;
+
+import io.advantageous.reakt.Stream;
+import io.advantageous.reakt.stream.impl.StreamPublisher;
+import io.advantageous.reakt.stream.impl.StreamSubscriber;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+import java.util.function.Consumer;
+
+/**
+ * Bridges reakt streams and Reactive Streams.
+ * <p>
+ * Both directions count outstanding demand with atomics and pass it on in batches, so a reakt producer can sit
+ * in a backpressured pipeline without an unbounded buffer in between.
+ *
+ * @author Rick Hightower
+ */
+public interface ReactiveStreams {
+
+    /**
+     * Default number of items a subscriber requests up front.
+     */
+    int DEFAULT_PREFETCH = 128;
+
+    /**
+     * Publishes what a reakt stream source replies.
+     * The source is called on the first {@code request(n)} with the stream to reply to, and may send one item
+     * unasked. After that it should only send what is requested through {@link io.advantageous.reakt.StreamResult#request(long)}
+     * on the results it sent. An item beyond the subscriber's demand fails the subscriber.
+     *
+     * @param source source of items, called once per subscriber
+     * @param <T>    type of item
+     * @return publisher
+     */
+    static <T> Publisher<T> publisher(final Consumer<Stream<T>> source) {
+        return new StreamPublisher<>(source);
+    }
+
+    /**
+     * Subscribes a reakt stream to a publisher, requesting {@link #DEFAULT_PREFETCH} items at a time.
+     *
+     * @param stream stream that gets the items; the subscriber reuses one result object, so a result is only
+     *               valid during the {@code onNext} call that receives it and must be copied to be kept
+     * @param <T>    type of item
+     * @return subscriber
+     */
+    static <T> Subscriber<T> subscriber(final Stream<T> stream) {
+        return subscriber(stream, DEFAULT_PREFETCH);
+    }
+
+    /**
+     * Subscribes a reakt stream to a publisher.
+     * The subscriber requests {@code prefetch} items up front and replenishes in batches.
+     *
+     * @param stream   stream that gets the items; the subscriber reuses one result object, so a result is only
+     *                 valid during the {@code onNext} call that receives it and must be copied to be kept
+     * @param prefetch items requested up front
+     * @param <T>      type of item
+     * @return subscriber
+     */
+    static <T> Subscriber<T> subscriber(final Stream<T> stream, final int prefetch) {
+        return new StreamSubscriber<>(stream, prefetch);
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.stream;
+
+/**
+ * What a {@link BroadcastStream} does when a subscriber falls a full ring behind the producer.
+ *
+ * @author Rick Hightower
+ */
+public enum SlowSubscriberPolicy {
+
+    /**
+     * The producer waits until the slowest subscriber frees the slot.
+     */
+    GATE,
+
+    /**
+     * The producer overwrites the slot, the subscriber skips what it missed and counts it as dropped.
+     */
+    DROP,
+
+    /**
+     * The subscriber is disconnected and gets a {@link io.advantageous.reakt.exception.StreamOverflowException}.
+     */
+    DISCONNECT
+}
@@ -0,0 +1,90 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.stream;
+
+import io.advantageous.reakt.Stream;
+import io.advantageous.reakt.stream.impl.RingBufferStream;
+
+/**
+ * Stream stage that buffers between a producer and a slower consumer in a fixed size ring buffer.
+ * <p>
+ * The producer sends to this stream. The consumer pulls with {@link #drain(int)} on its own thread, which
+ * passes buffered items to the downstream stream. The buffer asks the producer for more with
+ * {@link io.advantageous.reakt.StreamResult#request(long)} as slots free up, and what happens when the producer
+ * sends more than fits is up to the {@link OverflowStrategy}.
+ * <p>
+ * The buffer is allocated up front, memory does not grow with load.
+ *
+ * @param <T> type of item
+ * @author Rick Hightower
+ */
+public interface StreamBuffer<T> extends Stream<T> {
+
+    /**
+     * Creates a stream buffer.
+     *
+     * @param downstream stream that gets the items on drain, results are only valid during its onNext
+     * @param capacity   number of slots
+     * @param strategy   what to do when full
+     * @param <T>        type of item
+     * @return stream buffer
+     */
+    static <T> StreamBuffer<T> streamBuffer(final Stream<T> downstream, final int capacity,
+                                            final OverflowStrategy strategy) {
+        return new RingBufferStream<>(downstream, capacity, strategy);
+    }
+
+    /**
+     * Passes up to max buffered items to the downstream stream, followed by the end of the stream once all
+     * items are delivered. Called by one consumer at a time.
+     *
+     * @param max max items to deliver
+     * @return number of items delivered
+     */
+    int drain(int max);
+
+    /**
+     * Passes every buffered item to the downstream stream.
+     *
+     * @return number of items delivered
+     */
+    default int drain() {
+        return drain(capacity());
+    }
+
+    /**
+     * @return number of buffered items
+     */
+    int size();
+
+    /**
+     * @return number of slots
+     */
+    int capacity();
+
+    /**
+     * @return number of items dropped or conflated because the buffer was full
+     */
+    long dropped();
+
+    /**
+     * @return true once the end of the stream was delivered, or the downstream cancelled
+     */
+    boolean isDone();
+}
@@ -0,0 +1,103 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.stream;
+
+import io.advantageous.reakt.Stream;
+import io.advantageous.reakt.stream.impl.StreamEmitterImpl;
+
+import java.util.function.Consumer;
+
+/**
+ * Sends results to one stream subscriber without allocating a result per item.
+ * <p>
+ * The emitter reuses one mutable {@link io.advantageous.reakt.StreamResult} and binds the cancel and request
+ * hooks once, when it is created. The value of a result sent this way is only valid during the
+ * {@code onNext} call that got it, copy the value out if it is needed later. The result's {@code request(n)}
+ * and {@code cancel()} belong to the subscription and can be kept.
+ * <p>
+ * Set the system property {@code reakt.streamDebug} to true, or pass debug to the factory, to get a fresh
+ * result per item that throws an {@link IllegalStateException} when read after its {@code onNext} returned.
+ * <p>
+ * An emitter is used by one producer at a time.
+ *
+ * @param <T> type of item
+ * @author Rick Hightower
+ */
+public interface StreamEmitter<T> {
+
+    /**
+     * Creates an emitter, debug mode comes from the {@code reakt.streamDebug} system property.
+     *
+     * @param stream      subscriber
+     * @param cancel      called when the subscriber cancels
+     * @param requestMore called when the subscriber requests more
+     * @param <T>         type of item
+     * @return emitter
+     */
+    static <T> StreamEmitter<T> emitter(final Stream<T> stream, final Runnable cancel,
+                                        final Consumer<Long> requestMore) {
+        return new StreamEmitterImpl<>(stream, cancel, requestMore, StreamEmitterImpl.DEBUG);
+    }
+
+    /**
+     * Creates an emitter.
+     *
+     * @param stream      subscriber
+     * @param cancel      called when the subscriber cancels
+     * @param requestMore called when the subscriber requests more
+     * @param debug       true to catch results used after their onNext returned
+     * @param <T>         type of item
+     * @return emitter
+     */
+    static <T> StreamEmitter<T> emitter(final Stream<T> stream, final Runnable cancel,
+                                        final Consumer<Long> requestMore, final boolean debug) {
+        return new StreamEmitterImpl<>(stream, cancel, requestMore, debug);
+    }
+
+    /**
+     * Sends the next result.
+     *
+     * @param result result value to send.
+     */
+    void reply(T result);
+
+    /**
+     * Sends the next result.
+     *
+     * @param result result value to send.
+     * @param done   if true signifies that that this is the last result.
+     */
+    void reply(T result, boolean done);
+
+    /**
+     * Sends the last result.
+     *
+     * @param result result value to send.
+     */
+    default void complete(final T result) {
+        reply(result, true);
+    }
+
+    /**
+     * Sends a failure, which ends the stream.
+     *
+     * @param error error
+     */
+    void reject(Throwable error);
+}
@@ -0,0 +1,132 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.stream;
+
+import io.advantageous.reakt.Stream;
+import io.advantageous.reakt.stream.impl.StreamPipelineImpl;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Fluent description of synchronous operators between a producer and a stream.
+ * <p>
+ * The operators are all fused into one stream node when {@link #to(Stream)} is called: an item runs through
+ * every operator in a plain loop and the output is sent with a {@link StreamEmitter}, so there is no stream
+ * object and no result object per operator or per item.
+ * <p>
+ * A pipeline is only a description and can be attached many times, each {@code to(...)} gets its own operator
+ * state. Request and cancel from the downstream go to the upstream. Requests are passed on as is, they are not
+ * adjusted for items that filter, skip or buffer hold back.
+ *
+ * <pre>
+ * {@code
+ *  final Stream<Trade> stream = StreamPipeline.<Trade>pipeline()
+ *          .filter(trade -> trade.amount() > 1_000)
+ *          .map(Trade::symbol)
+ *          .distinctUntilChanged()
+ *          .take(100)
+ *          .to(symbolStream);
+ * }
+ * </pre>
+ *
+ * @param <I> type of item the pipeline takes
+ * @param <O> type of item the pipeline sends
+ * @author Rick Hightower
+ */
+public interface StreamPipeline<I, O> {
+
+    /**
+     * Starts an empty pipeline.
+     *
+     * @param <T> type of item
+     * @return pipeline
+     */
+    static <T> StreamPipeline<T, T> pipeline() {
+        return StreamPipelineImpl.pipeline();
+    }
+
+    /**
+     * Transforms each item, a null result drops the item.
+     *
+     * @param mapper mapper
+     * @param <R>    type of new item
+     * @return pipeline
+     */
+    <R> StreamPipeline<I, R> map(Function<? super O, ? extends R> mapper);
+
+    /**
+     * Only keeps items that match.
+     *
+     * @param predicate predicate
+     * @return pipeline
+     */
+    StreamPipeline<I, O> filter(Predicate<? super O> predicate);
+
+    /**
+     * Ends the stream after n items and cancels the upstream.
+     *
+     * @param count number of items to take
+     * @return pipeline
+     */
+    StreamPipeline<I, O> take(long count);
+
+    /**
+     * Drops the first n items.
+     *
+     * @param count number of items to skip
+     * @return pipeline
+     */
+    StreamPipeline<I, O> skip(long count);
+
+    /**
+     * Sends a running accumulation of the items.
+     *
+     * @param initial     initial accumulated value
+     * @param accumulator combines the accumulated value and the next item
+     * @param <R>         type of accumulated value
+     * @return pipeline
+     */
+    <R> StreamPipeline<I, R> scan(R initial, BiFunction<R, ? super O, R> accumulator);
+
+    /**
+     * Drops items that equal the item before them.
+     *
+     * @return pipeline
+     */
+    StreamPipeline<I, O> distinctUntilChanged();
+
+    /**
+     * Groups items into lists of size items, the last list may be smaller.
+     *
+     * @param size items per list
+     * @return pipeline
+     */
+    StreamPipeline<I, List<O>> buffer(int size);
+
+    /**
+     * Fuses the operators into one stream that sends to the downstream.
+     *
+     * @param downstream stream that gets the output, results are only valid during its onNext
+     * @return stream for the producer to send to
+     */
+    Stream<I> to(Stream<O> downstream);
+}
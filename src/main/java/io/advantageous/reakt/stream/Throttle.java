@@ -0,0 +1,93 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.stream;
+
+import io.advantageous.reakt.Stream;
+import io.advantageous.reakt.reactor.Reactor;
+import io.advantageous.reakt.stream.impl.TimedStream;
+
+import java.time.Duration;
+
+/**
+ * Operators that collapse bursts of items into a bounded delivery rate.
+ * <p>
+ * Timing comes from the consumer's reactor: its {@link io.advantageous.reakt.reactor.TimeSource} for the clock
+ * and {@link Reactor#runTaskAfter(Duration, Runnable)} for timers, so there are no extra threads and no locks.
+ * At most one timer is pending per operator, a burst of items does not schedule a task per item.
+ * <p>
+ * The returned streams are confined to the reactor: send to them from the reactor thread, for example through
+ * {@link Reactor#stream(Stream)}. When the upstream completes, a held back item is sent right away as the last
+ * result. A failure is passed on right away and drops a held back item.
+ *
+ * @author Rick Hightower
+ */
+public interface Throttle {
+
+    /**
+     * Sends an item, then drops the items that follow for the interval.
+     *
+     * @param reactor    consumer's reactor
+     * @param interval   quiet time after an item is sent
+     * @param downstream stream that gets the items, results are only valid during its onNext
+     * @param <T>        type of item
+     * @return stream to send items to, on the reactor thread
+     */
+    static <T> Stream<T> throttleFirst(final Reactor reactor, final Duration interval, final Stream<T> downstream) {
+        return new TimedStream<>(TimedStream.Mode.THROTTLE_FIRST, reactor, interval, downstream);
+    }
+
+    /**
+     * Holds items for the interval that starts with the first one, then sends the latest.
+     *
+     * @param reactor    consumer's reactor
+     * @param interval   how long items are held
+     * @param downstream stream that gets the items, results are only valid during its onNext
+     * @param <T>        type of item
+     * @return stream to send items to, on the reactor thread
+     */
+    static <T> Stream<T> throttleLast(final Reactor reactor, final Duration interval, final Stream<T> downstream) {
+        return new TimedStream<>(TimedStream.Mode.THROTTLE_LAST, reactor, interval, downstream);
+    }
+
+    /**
+     * Sends the latest item once no item arrived for the quiet time.
+     *
+     * @param reactor    consumer's reactor
+     * @param quiet      time without items before the latest is sent
+     * @param downstream stream that gets the items, results are only valid during its onNext
+     * @param <T>        type of item
+     * @return stream to send items to, on the reactor thread
+     */
+    static <T> Stream<T> debounce(final Reactor reactor, final Duration quiet, final Stream<T> downstream) {
+        return new TimedStream<>(TimedStream.Mode.DEBOUNCE, reactor, quiet, downstream);
+    }
+
+    /**
+     * Sends the latest item every period, if one arrived since the last period.
+     *
+     * @param reactor    consumer's reactor
+     * @param period     sample period
+     * @param downstream stream that gets the items, results are only valid during its onNext
+     * @param <T>        type of item
+     * @return stream to send items to, on the reactor thread
+     */
+    static <T> Stream<T> sample(final Reactor reactor, final Duration period, final Stream<T> downstream) {
+        return new TimedStream<>(TimedStream.Mode.SAMPLE, reactor, period, downstream);
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.stream;
+
+import io.advantageous.reakt.Expected;
+import io.advantageous.reakt.metrics.HistogramSnapshot;
+
+/**
+ * Statistics of the values in one time window.
+ *
+ * @author Rick Hightower
+ */
+public class WindowStats {
+
+    private final long start;
+    private final long end;
+    private final long count;
+    private final long sum;
+    private final long min;
+    private final long max;
+    private final Expected<HistogramSnapshot> histogram;
+
+    public WindowStats(final long start, final long end, final long count, final long sum,
+                       final long min, final long max, final Expected<HistogramSnapshot> histogram) {
+        this.start = start;
+        this.end = end;
+        this.count = count;
+        this.sum = sum;
+        this.min = min;
+        this.max = max;
+        this.histogram = histogram;
+    }
+
+    /**
+     * @return window start time, inclusive
+     */
+    public long start() {
+        return start;
+    }
+
+    /**
+     * @return window end time, exclusive
+     */
+    public long end() {
+        return end;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public long sum() {
+        return sum;
+    }
+
+    /**
+     * @return smallest value, 0 if the window is empty
+     */
+    public long min() {
+        return min;
+    }
+
+    /**
+     * @return largest value, 0 if the window is empty
+     */
+    public long max() {
+        return max;
+    }
+
+    public double mean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * @return histogram of the values, if the window keeps one
+     */
+    public Expected<HistogramSnapshot> histogram() {
+        return histogram;
+    }
+
+    @Override
+    public String toString() {
+        return "WindowStats{" +
+                "start=" + start +
+                ", end=" + end +
+                ", count=" + count +
+                ", sum=" + sum +
+                ", min=" + min +
+                ", max=" + max +
+                '}';
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.stream;
+
+import io.advantageous.reakt.Stream;
+import io.advantageous.reakt.reactor.Reactor;
+import io.advantageous.reakt.stream.impl.WindowStream;
+
+import java.time.Duration;
+import java.util.function.ToLongFunction;
+
+/**
+ * Time window operators that turn a stream of items into one {@link WindowStats} per window.
+ * <p>
+ * Each item is reduced to a long and folded into primitive accumulators, count, sum, min, max and optionally a
+ * histogram, so nothing is boxed or kept per item. Windows are closed by timers on the reactor and timed with
+ * its {@link io.advantageous.reakt.reactor.TimeSource}, so a test can drive them with a fake clock.
+ * <p>
+ * Window boundaries are multiples of the slide, every elapsed window is sent, even an empty one.
+ * The returned stream is confined to the reactor: send to it from the reactor thread, for example through
+ * {@link Reactor#stream(Stream)}. When the upstream completes, the open window is sent as the last result.
+ *
+ * @author Rick Hightower
+ */
+public interface Windows {
+
+    /**
+     * Creates back to back windows of {@code size}.
+     *
+     * @param reactor    reactor that closes the windows
+     * @param size       window size
+     * @param valueOf    value of an item
+     * @param histogram  true to keep a histogram of the values
+     * @param downstream gets one result per window, results are only valid during its onNext
+     * @param <T>        type of item
+     * @return stream to send items to, on the reactor thread
+     */
+    static <T> Stream<T> tumbling(final Reactor reactor,
+                                  final Duration size,
+                                  final ToLongFunction<? super T> valueOf,
+                                  final boolean histogram,
+                                  final Stream<WindowStats> downstream) {
+        return new WindowStream<>(reactor, size.toMillis(), size.toMillis(), valueOf, histogram, downstream);
+    }
+
+    /**
+     * Creates windows of {@code size} that start every {@code slide}, size must be a multiple of slide.
+     *
+     * @param reactor    reactor that closes the windows
+     * @param size       window size
+     * @param slide      time between window starts
+     * @param valueOf    value of an item
+     * @param histogram  true to keep a histogram of the values
+     * @param downstream gets one result per window, results are only valid during its onNext
+     * @param <T>        type of item
+     * @return stream to send items to, on the reactor thread
+     */
+    static <T> Stream<T> sliding(final Reactor reactor,
+                                 final Duration size,
+                                 final Duration slide,
+                                 final ToLongFunction<? super T> valueOf,
+                                 final boolean histogram,
+                                 final Stream<WindowStats> downstream) {
+        return new WindowStream<>(reactor, size.toMillis(), slide.toMillis(), valueOf, histogram, downstream);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.stream.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Demand bookkeeping shared by the stream bridges.
+ * Demand is counted in an {@link AtomicLong}, adds cap at {@link Long#MAX_VALUE}, and once demand reaches
+ * {@link Long#MAX_VALUE} it is unbounded and is no longer decremented.
+ *
+ * @author Rick Hightower
+ */
+public final class Demand {
+
+    private Demand() {
+    }
+
+    /**
+     * Adds n to the demand, capping at {@link Long#MAX_VALUE}.
+     *
+     * @param demand demand
+     * @param n      amount to add, positive
+     * @return the demand before the add
+     */
+    public static long add(final AtomicLong demand, final long n) {
+        for (; ; ) {
+            final long current = demand.get();
+            if (current == Long.MAX_VALUE) {
+                return Long.MAX_VALUE;
+            }
+            final long next = current + n;
+            if (demand.compareAndSet(current, next < current ? Long.MAX_VALUE : next)) {
+                return current;
+            }
+        }
+    }
+
+    /**
+     * Removes n produced items from the demand, unless the demand is unbounded.
+     *
+     * @param demand demand
+     * @param n      number of items produced
+     * @return the demand after the items were removed
+     */
+    public static long produced(final AtomicLong demand, final long n) {
+        for (; ; ) {
+            final long current = demand.get();
+            if (current == Long.MAX_VALUE) {
+                return Long.MAX_VALUE;
+            }
+            final long next = current - n;
+            if (next < 0) {
+                throw new IllegalStateException("More produced than requested: " + next);
+            }
+            if (demand.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.stream.impl;
+
+import io.advantageous.reakt.Expected;
+import io.advantageous.reakt.StreamResult;
+import io.advantageous.reakt.exception.ResultFailedException;
+
+import java.util.function.Consumer;
+
+/**
+ * Mutable stream result that an emitter reuses for every item.
+ * The value is only valid while it is active, during onNext. In debug mode reading it after that throws.
+ * The cancel and request hooks are bound for the life of the subscription.
+ *
+ * @param <T> type of item
+ * @author Rick Hightower
+ */
+public class FlyweightStreamResult<T> implements StreamResult<T> {
+
+    private final Runnable cancel;
+    private final Consumer<Long> requestMore;
+    private final boolean debug;
+    private Object object;
+    private boolean done;
+    private boolean active;
+
+    public FlyweightStreamResult(final Runnable cancel, final Consumer<Long> requestMore, final boolean debug) {
+        this.cancel = cancel;
+        this.requestMore = requestMore;
+        this.debug = debug;
+    }
+
+    void set(final Object object, final boolean done) {
+        this.object = object;
+        this.done = done;
+        this.active = true;
+    }
+
+    void clear() {
+        this.object = null;
+        this.active = false;
+    }
+
+    boolean active() {
+        return active;
+    }
+
+    private void checkActive() {
+        if (debug && !active) {
+            throw new IllegalStateException("StreamResult used after onNext returned, copy the value instead");
+        }
+    }
+
+    @Override
+    public void request(final long n) {
+        if (requestMore != null) {
+            requestMore.accept(n);
+        }
+    }
+
+    @Override
+    public void cancel() {
+        if (cancel != null) {
+            cancel.run();
+        }
+    }
+
+    @Override
+    public StreamResult<T> then(final Consumer<T> consumer) {
+        if (success()) consumer.accept(get());
+        return this;
+    }
+
+    @Override
+    public StreamResult<T> thenExpect(final Consumer<Expected<T>> consumer) {
+        if (success()) consumer.accept(expect());
+        return this;
+    }
+
+    @Override
+    public StreamResult<T> catchError(final Consumer<Throwable> handler) {
+        if (failure()) handler.accept(cause());
+        return this;
+    }
+
+    @Override
+    public boolean success() {
+        checkActive();
+        return !(object instanceof Throwable);
+    }
+
+    @Override
+    public boolean complete() {
+        checkActive();
+        return done;
+    }
+
+    @Override
+    public boolean failure() {
+        checkActive();
+        return object instanceof Throwable;
+    }
+
+    @Override
+    public Throwable cause() {
+        checkActive();
+        return object instanceof Throwable ? (Throwable) object : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Expected<T> expect() {
+        if (failure()) throw new IllegalStateException(cause());
+        return Expected.ofNullable((T) object);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get() {
+        if (failure()) {
+            if (cause() instanceof RuntimeException) {
+                throw (RuntimeException) cause();
+            } else {
+                throw new ResultFailedException(cause());
+            }
+        }
+        return (T) object;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T orElse(final T other) {
+        return success() ? (T) object : other;
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.stream.impl;
+
+import io.advantageous.reakt.Stream;
+import io.advantageous.reakt.StreamResult;
+import io.advantageous.reakt.stream.StreamEmitter;
+
+/**
+ * One stream node that runs an item through every operator of a pipeline.
+ * <p>
+ * Operators work on plain objects and return {@link #SKIP} to hold an item back, so an item costs one loop over
+ * the operators and one emit. When the stream ends, from the upstream or from a take, the operators after the
+ * end point are flushed so buffer can send its partial list, and the last output is marked done.
+ *
+ * @param <I> type of item taken
+ * @param <O> type of item sent
+ * @author Rick Hightower
+ */
+public class FusedStream<I, O> implements Stream<I> {
+
+    /**
+     * Returned by an operator to drop or hold back an item.
+     */
+    static final Object SKIP = new Object();
+
+    private final Operator[] operators;
+    private final Object[] outputs;
+    private final StreamEmitter<O> emitter;
+    private StreamResult<I> upstream;
+    private int stoppedAt = -1;
+    private boolean done;
+
+    FusedStream(final Operator[] operators, final Stream<O> downstream) {
+        this.operators = operators;
+        this.outputs = new Object[operators.length + 1];
+        this.emitter = StreamEmitter.emitter(downstream, this::cancel, this::request);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void onNext(final StreamResult<I> result) {
+        if (done) {
+            if (!result.complete()) {
+                result.cancel();
+            }
+            return;
+        }
+        upstream = result;
+        if (result.failure()) {
+            done = true;
+            emitter.reject(result.cause());
+            return;
+        }
+        final Object output;
+        try {
+            final Object value = result.get();
+            output = value == null ? SKIP : run(value, 0);
+        } catch (Exception ex) {
+            fail(ex);
+            return;
+        }
+        final boolean complete = result.complete();
+        if (!complete && stoppedAt < 0) {
+            if (output != SKIP) {
+                emitter.reply((O) output);
+            }
+            return;
+        }
+        done = true;
+        if (!complete) {
+            result.cancel();
+        }
+        final int count;
+        try {
+            count = flush(output, complete ? 0 : stoppedAt + 1);
+        } catch (Exception ex) {
+            emitter.reject(ex);
+            return;
+        }
+        if (count == 0) {
+            emitter.complete(null);
+            return;
+        }
+        for (int index = 0; index < count; index++) {
+            final O item = (O) outputs[index];
+            outputs[index] = null;
+            emitter.reply(item, index == count - 1);
+        }
+    }
+
+    private Object run(final Object value, final int from) {
+        Object current = value;
+        for (int index = from; index < operators.length; index++) {
+            final Operator operator = operators[index];
+            current = operator.apply(current);
+            if (stoppedAt < 0 && operator.stopped()) {
+                stoppedAt = index;
+            }
+            if (current == SKIP) {
+                return SKIP;
+            }
+        }
+        return current;
+    }
+
+    private int flush(final Object output, final int from) {
+        int count = 0;
+        if (output != SKIP) {
+            outputs[count++] = output;
+        }
+        for (int index = from; index < operators.length; index++) {
+            final Object flushed = operators[index].flush();
+            if (flushed != SKIP) {
+                final Object rest = run(flushed, index + 1);
+                if (rest != SKIP) {
+                    outputs[count++] = rest;
+                }
+            }
+        }
+        return count;
+    }
+
+    private void fail(final Exception ex) {
+        done = true;
+        upstream.cancel();
+        emitter.reject(ex);
+    }
+
+    private void cancel() {
+        done = true;
+        final StreamResult<I> current = upstream;
+        if (current != null) {
+            current.cancel();
+        }
+    }
+
+    private void request(final long n) {
+        final StreamResult<I> current = upstream;
+        if (current != null && !done) {
+            current.request(n);
+        }
+    }
+
+    /**
+     * An operator of a fused pipeline.
+     */
+    interface Operator {
+
+        /**
+         * @param value item, never null
+         * @return the item to pass on, or {@link #SKIP}
+         */
+        Object apply(Object value);
+
+        /**
+         * @return a held back item to send when the stream ends, or {@link #SKIP}
+         */
+        default Object flush() {
+            return SKIP;
+        }
+
+        /**
+         * @return true if no more items should be taken after the current one
+         */
+        default boolean stopped() {
+            return false;
+        }
+    }
+
+    static final class Take implements Operator {
+        private long remaining;
+        private boolean stopped;
+
+        Take(final long count) {
+            this.remaining = count;
+            this.stopped = count == 0;
+        }
+
+        @Override
+        public Object apply(final Object value) {
+            if (remaining == 0) {
+                stopped = true;
+                return SKIP;
+            }
+            if (--remaining == 0) {
+                stopped = true;
+            }
+            return value;
+        }
+
+        @Override
+        public boolean stopped() {
+            return stopped;
+        }
+    }
+}
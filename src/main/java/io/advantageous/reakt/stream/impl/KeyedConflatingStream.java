@@ -0,0 +1,283 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.stream.impl;
+
+import io.advantageous.reakt.Stream;
+import io.advantageous.reakt.StreamResult;
+import io.advantageous.reakt.stream.ConflatingStream;
+import io.advantageous.reakt.stream.StreamEmitter;
+
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Conflating stream over an open addressed table with linear probing.
+ * <p>
+ * Each key gets one entry, created the first time the key is seen. The dirty queue is a linked list threaded
+ * through the entries, so an update of a known key allocates nothing. The table doubles when it is half full.
+ * A lock guards the table and the queue for the length of one update or one removal from the queue, the
+ * downstream is called outside of it.
+ *
+ * @param <K> type of key
+ * @param <T> type of item
+ * @author Rick Hightower
+ */
+public class KeyedConflatingStream<K, T> implements ConflatingStream<K, T> {
+
+    private final StreamEmitter<T> emitter;
+    private final Function<? super T, ? extends K> keyOf;
+    private final ReentrantLock lock = new ReentrantLock();
+    private Entry<K>[] table;
+    private int keys;
+    private Entry<K> dirtyHead;
+    private Entry<K> dirtyTail;
+    private int pending;
+    private long conflated;
+    private boolean completed;
+    private boolean terminated;
+    private Throwable error;
+    private volatile boolean cancelled;
+    private volatile StreamResult<T> upstream;
+
+    public KeyedConflatingStream(final Stream<T> downstream, final Function<? super T, ? extends K> keyOf,
+                                 final int expectedKeys) {
+        this.emitter = StreamEmitter.emitter(downstream, this::cancel, null);
+        this.keyOf = Objects.requireNonNull(keyOf, "keyOf cannot be null");
+        this.table = newTable(tableSizeFor(Math.max(expectedKeys, 1) * 2));
+    }
+
+    private static int tableSizeFor(final int size) {
+        int tableSize = 2;
+        while (tableSize < size) {
+            tableSize <<= 1;
+        }
+        return tableSize;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K> Entry<K>[] newTable(final int size) {
+        return (Entry<K>[]) new Entry<?>[size];
+    }
+
+    private static int hash(final Object key) {
+        final int hash = key.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    @Override
+    public void onNext(final StreamResult<T> result) {
+        if (cancelled) {
+            result.cancel();
+            return;
+        }
+        upstream = result;
+        if (result.failure()) {
+            lock.lock();
+            try {
+                if (!completed && error == null) {
+                    error = result.cause();
+                }
+            } finally {
+                lock.unlock();
+            }
+            return;
+        }
+        final T value = result.get();
+        final K key = value == null ? null : Objects.requireNonNull(keyOf.apply(value), "key cannot be null");
+        lock.lock();
+        try {
+            if (completed || error != null) {
+                return;
+            }
+            if (value != null) {
+                update(key, value);
+            }
+            completed = result.complete();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* Called with the lock held. */
+    private void update(final K key, final T value) {
+        final Entry<K> entry = entry(key);
+        if (entry.dirty) {
+            conflated++;
+        } else {
+            entry.dirty = true;
+            pending++;
+            if (dirtyTail == null) {
+                dirtyHead = entry;
+            } else {
+                dirtyTail.nextDirty = entry;
+            }
+            dirtyTail = entry;
+        }
+        entry.value = value;
+    }
+
+    /* Finds or adds the entry for a key, called with the lock held. */
+    private Entry<K> entry(final K key) {
+        final int hash = hash(key);
+        int mask = table.length - 1;
+        int index = hash & mask;
+        Entry<K> entry;
+        while ((entry = table[index]) != null) {
+            if (entry.hash == hash && entry.key.equals(key)) {
+                return entry;
+            }
+            index = (index + 1) & mask;
+        }
+        if ((keys + 1) * 2 > table.length) {
+            resize();
+            mask = table.length - 1;
+            index = hash & mask;
+            while (table[index] != null) {
+                index = (index + 1) & mask;
+            }
+        }
+        entry = new Entry<>(key, hash);
+        table[index] = entry;
+        keys++;
+        return entry;
+    }
+
+    private void resize() {
+        final Entry<K>[] old = table;
+        final Entry<K>[] resized = newTable(old.length * 2);
+        final int mask = resized.length - 1;
+        for (Entry<K> entry : old) {
+            if (entry != null) {
+                int index = entry.hash & mask;
+                while (resized[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                resized[index] = entry;
+            }
+        }
+        table = resized;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public int drain(final int max) {
+        int delivered = 0;
+        while (!cancelled) {
+            Object value = null;
+            Throwable failure = null;
+            boolean last = false;
+            boolean hasValue = false;
+            lock.lock();
+            try {
+                if (terminated) {
+                    break;
+                }
+                final Entry<K> entry = dirtyHead;
+                if (entry != null) {
+                    if (delivered == max) {
+                        break;
+                    }
+                    dirtyHead = entry.nextDirty;
+                    if (dirtyHead == null) {
+                        dirtyTail = null;
+                    }
+                    entry.nextDirty = null;
+                    entry.dirty = false;
+                    value = entry.value;
+                    entry.value = null;
+                    pending--;
+                    hasValue = true;
+                    last = pending == 0 && completed;
+                    terminated = last;
+                } else if (error != null) {
+                    failure = error;
+                    terminated = true;
+                } else if (completed) {
+                    last = true;
+                    terminated = true;
+                } else {
+                    break;
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (hasValue) {
+                delivered++;
+                emitter.reply((T) value, last);
+            } else if (failure != null) {
+                emitter.reject(failure);
+            } else {
+                emitter.complete(null);
+            }
+        }
+        return delivered;
+    }
+
+    private void cancel() {
+        cancelled = true;
+        final StreamResult<T> current = upstream;
+        if (current != null) {
+            current.cancel();
+        }
+    }
+
+    @Override
+    public int keys() {
+        lock.lock();
+        try {
+            return keys;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int pending() {
+        lock.lock();
+        try {
+            return pending;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long conflated() {
+        lock.lock();
+        try {
+            return conflated;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class Entry<K> {
+        private final K key;
+        private final int hash;
+        private Object value;
+        private boolean dirty;
+        private Entry<K> nextDirty;
+
+        private Entry(final K key, final int hash) {
+            this.key = key;
+            this.hash = hash;
+        }
+    }
+}
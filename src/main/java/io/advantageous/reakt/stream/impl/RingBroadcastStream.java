@@ -0,0 +1,245 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.stream.impl;
+
+import io.advantageous.reakt.Stream;
+import io.advantageous.reakt.StreamResult;
+import io.advantageous.reakt.exception.StreamOverflowException;
+import io.advantageous.reakt.stream.BroadcastStream;
+import io.advantageous.reakt.stream.BroadcastSubscription;
+import io.advantageous.reakt.stream.SlowSubscriberPolicy;
+import io.advantageous.reakt.stream.StreamEmitter;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Broadcast stream over a single producer ring buffer, in the style of a disruptor.
+ * <p>
+ * The producer claims a sequence, stores the item in its slot and publishes the sequence, all with ordered
+ * stores and no lock. Each subscriber owns a cursor, the last sequence it read. Before reusing a slot the producer
+ * makes sure the subscribers are done with it, according to the policy, and caches the slowest cursor so it only
+ * looks at the subscribers once per lap.
+ * <p>
+ * Because the claim is stored before the item, a subscriber that reads a slot and then sees a claim a full ring
+ * ahead knows the item may have been overwritten and skips it, which is how {@link SlowSubscriberPolicy#DROP}
+ * works without the producer ever waiting.
+ * <p>
+ * The subscriber list is copied on subscribe and cancel, which are rare, so the producer reads it without locking.
+ *
+ * @param <T> type of item
+ * @author Rick Hightower
+ */
+public class RingBroadcastStream<T> implements BroadcastStream<T> {
+
+    private static final Object COMPLETE = new Object();
+    private static final Cursor<?>[] NO_SUBSCRIBERS = new Cursor<?>[0];
+
+    private final AtomicReferenceArray<Object> ring;
+    private final int capacity;
+    private final int mask;
+    private final SlowSubscriberPolicy policy;
+    private final AtomicLong claimed = new AtomicLong(-1);
+    private final AtomicLong published = new AtomicLong(-1);
+    private volatile Cursor<?>[] subscribers = NO_SUBSCRIBERS;
+    private volatile Object terminal;
+    private long finalSequence;
+    private long sequence = -1;
+    private long gatingSequence = -1;
+
+    public RingBroadcastStream(final int capacity, final SlowSubscriberPolicy policy) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity must be between 1 and 2^30");
+        }
+        int size = 1;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        this.capacity = size;
+        this.mask = this.capacity - 1;
+        this.ring = new AtomicReferenceArray<>(this.capacity);
+        this.policy = Objects.requireNonNull(policy, "policy cannot be null");
+    }
+
+    @Override
+    public void onNext(final StreamResult<T> result) {
+        if (terminal != null) {
+            return;
+        }
+        if (result.failure()) {
+            finalSequence = sequence;
+            terminal = result.cause();
+            return;
+        }
+        final T value = result.get();
+        if (value != null) {
+            publish(value);
+        }
+        if (result.complete()) {
+            finalSequence = sequence;
+            terminal = COMPLETE;
+        }
+    }
+
+    private void publish(final T value) {
+        final long next = sequence + 1;
+        final long wrapPoint = next - capacity;
+        if (policy != SlowSubscriberPolicy.DROP && wrapPoint > gatingSequence) {
+            gatingSequence = waitForSlot(wrapPoint);
+        }
+        claimed.lazySet(next);
+        ring.lazySet((int) next & mask, value);
+        published.lazySet(next);
+        sequence = next;
+    }
+
+    /* Returns a sequence every connected subscriber has read, at least wrapPoint. */
+    private long waitForSlot(final long wrapPoint) {
+        for (; ; ) {
+            long slowest = Long.MAX_VALUE;
+            for (Cursor<?> subscriber : subscribers) {
+                final long read = subscriber.cursor.get();
+                if (read < wrapPoint && policy == SlowSubscriberPolicy.DISCONNECT) {
+                    subscriber.disconnect();
+                    continue;
+                }
+                slowest = Math.min(slowest, read);
+            }
+            if (slowest >= wrapPoint) {
+                return slowest == Long.MAX_VALUE ? wrapPoint : slowest;
+            }
+            LockSupport.parkNanos(1);
+        }
+    }
+
+    @Override
+    public BroadcastSubscription subscribe(final Stream<T> subscriber) {
+        final Cursor<T> cursor = new Cursor<>(this, subscriber);
+        synchronized (this) {
+            cursor.cursor.set(published.get());
+            final Cursor<?>[] current = subscribers;
+            final Cursor<?>[] next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = cursor;
+            subscribers = next;
+        }
+        return cursor;
+    }
+
+    private synchronized void remove(final Cursor<?> cursor) {
+        final Cursor<?>[] current = subscribers;
+        for (int index = 0; index < current.length; index++) {
+            if (current[index] == cursor) {
+                final Cursor<?>[] next = new Cursor<?>[current.length - 1];
+                System.arraycopy(current, 0, next, 0, index);
+                System.arraycopy(current, index + 1, next, index, current.length - index - 1);
+                subscribers = next;
+                return;
+            }
+        }
+    }
+
+    private static final class Cursor<T> implements BroadcastSubscription {
+
+        private final RingBroadcastStream<T> stream;
+        private final StreamEmitter<T> emitter;
+        private final AtomicLong cursor = new AtomicLong(-1);
+        private volatile boolean disconnected;
+        private volatile boolean cancelled;
+        private boolean finished;
+        private long dropped;
+
+        private Cursor(final RingBroadcastStream<T> stream, final Stream<T> subscriber) {
+            this.stream = stream;
+            this.emitter = StreamEmitter.emitter(subscriber, this::cancel, null);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public int drain(final int max) {
+            if (finished || cancelled) {
+                return 0;
+            }
+            final Object end = stream.terminal;
+            final long available = stream.published.get();
+            long next = cursor.get() + 1;
+            int delivered = 0;
+            while (delivered < max && next <= available && !disconnected && !cancelled) {
+                final Object value = stream.ring.get((int) next & stream.mask);
+                final long overwritten = stream.claimed.get() - stream.capacity;
+                if (next <= overwritten) {
+                    dropped += overwritten + 1 - next;
+                    next = overwritten + 1;
+                    cursor.lazySet(next - 1);
+                    continue;
+                }
+                final boolean last = end == COMPLETE && next == stream.finalSequence;
+                cursor.lazySet(next);
+                next++;
+                delivered++;
+                finished = last;
+                emitter.reply((T) value, last);
+                if (last) {
+                    return delivered;
+                }
+            }
+            if (disconnected && !cancelled) {
+                finished = true;
+                emitter.reject(new StreamOverflowException("Subscriber fell " + stream.capacity
+                        + " items behind and was disconnected"));
+            } else if (end != null && next > stream.finalSequence && !cancelled) {
+                finished = true;
+                if (end instanceof Throwable) {
+                    emitter.reject((Throwable) end);
+                } else {
+                    emitter.complete(null);
+                }
+            }
+            return delivered;
+        }
+
+        @Override
+        public long lag() {
+            return stream.published.get() - cursor.get();
+        }
+
+        @Override
+        public long dropped() {
+            return dropped;
+        }
+
+        @Override
+        public boolean isConnected() {
+            return !disconnected && !cancelled;
+        }
+
+        private void disconnect() {
+            disconnected = true;
+            stream.remove(this);
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            stream.remove(this);
+        }
+    }
+}
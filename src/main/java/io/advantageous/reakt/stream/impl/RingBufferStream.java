@@ -0,0 +1,267 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.stream.impl;
+
+import io.advantageous.reakt.Stream;
+import io.advantageous.reakt.StreamResult;
+import io.advantageous.reakt.exception.RejectedStreamException;
+import io.advantageous.reakt.exception.StreamOverflowException;
+import io.advantageous.reakt.stream.OverflowStrategy;
+import io.advantageous.reakt.stream.StreamBuffer;
+import io.advantageous.reakt.stream.StreamEmitter;
+
+import java.util.Objects;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Stream buffer backed by a ring of {@code capacity} slots.
+ * <p>
+ * The ring is guarded by a lock that is held just long enough to add or remove one item, the downstream and
+ * the upstream are always called outside of it. The producer may send one item unasked; after the first item
+ * it is asked for the rest of the capacity, then for as many items as each drain delivered, so a producer that
+ * honors requests never overflows.
+ * <p>
+ * End of stream and failures are delivered after the buffered items. A cancel from the downstream cancels the
+ * upstream and clears the buffer.
+ *
+ * @param <T> type of item
+ * @author Rick Hightower
+ */
+public class RingBufferStream<T> implements StreamBuffer<T> {
+
+    private final StreamEmitter<T> emitter;
+    private final Object[] ring;
+    private final OverflowStrategy strategy;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private int head;
+    private int count;
+    private long dropped;
+    private boolean started;
+    private boolean completed;
+    private boolean terminated;
+    private Throwable error;
+    private volatile boolean cancelled;
+    private volatile StreamResult<T> upstream;
+
+    public RingBufferStream(final Stream<T> downstream, final int capacity, final OverflowStrategy strategy) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1");
+        }
+        this.emitter = StreamEmitter.emitter(downstream, this::cancel, null);
+        this.ring = new Object[capacity];
+        this.strategy = Objects.requireNonNull(strategy, "strategy cannot be null");
+    }
+
+    @Override
+    public void onNext(final StreamResult<T> result) {
+        if (cancelled) {
+            result.cancel();
+            return;
+        }
+        final boolean first;
+        boolean overflow = false;
+        lock.lock();
+        try {
+            if (completed || error != null) {
+                return;
+            }
+            upstream = result;
+            first = !started;
+            started = true;
+            if (result.failure()) {
+                error = result.cause();
+                return;
+            }
+            final T value = result.get();
+            if (value != null) {
+                overflow = !offer(value);
+            }
+            if (result.complete()) {
+                completed = true;
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (overflow) {
+            result.cancel();
+        } else if (first && ring.length > 1) {
+            result.request(ring.length - 1);
+        }
+    }
+
+    /* Called with the lock held, false if the stream failed. */
+    private boolean offer(final T value) {
+        final int capacity = ring.length;
+        while (count == capacity) {
+            switch (strategy) {
+                case BLOCK:
+                    try {
+                        notFull.await();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        error = new RejectedStreamException("Interrupted while waiting for buffer space", ex);
+                        return false;
+                    }
+                    if (cancelled) {
+                        return true;
+                    }
+                    break;
+                case DROP_NEWEST:
+                    dropped++;
+                    return true;
+                case DROP_OLDEST:
+                    ring[head] = null;
+                    head = (head + 1) % capacity;
+                    count--;
+                    dropped++;
+                    break;
+                case CONFLATE_LATEST:
+                    ring[(head + count - 1) % capacity] = value;
+                    dropped++;
+                    return true;
+                default:
+                    error = new StreamOverflowException("Stream buffer of " + capacity + " overflowed");
+                    return false;
+            }
+        }
+        ring[(head + count) % capacity] = value;
+        count++;
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public int drain(final int max) {
+        int delivered = 0;
+        while (!cancelled) {
+            T item = null;
+            Throwable failure = null;
+            boolean last = false;
+            boolean hasItem = false;
+            lock.lock();
+            try {
+                if (terminated) {
+                    break;
+                }
+                if (count > 0) {
+                    if (delivered == max) {
+                        break;
+                    }
+                    item = (T) ring[head];
+                    ring[head] = null;
+                    head = (head + 1) % ring.length;
+                    count--;
+                    hasItem = true;
+                    notFull.signal();
+                    last = count == 0 && completed;
+                    terminated = last;
+                } else if (error != null) {
+                    failure = error;
+                    terminated = true;
+                } else if (completed) {
+                    last = true;
+                    terminated = true;
+                } else {
+                    break;
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (hasItem) {
+                delivered++;
+                emitter.reply(item, last);
+            } else if (failure != null) {
+                emitter.reject(failure);
+            } else {
+                emitter.complete(null);
+            }
+        }
+        final StreamResult<T> current = upstream;
+        if (delivered > 0 && current != null && !isTerminal()) {
+            current.request(delivered);
+        }
+        return delivered;
+    }
+
+    private boolean isTerminal() {
+        lock.lock();
+        try {
+            return completed || error != null || cancelled;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void cancel() {
+        cancelled = true;
+        lock.lock();
+        try {
+            for (int index = 0; index < ring.length; index++) {
+                ring[index] = null;
+            }
+            count = 0;
+            terminated = true;
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        final StreamResult<T> current = upstream;
+        if (current != null) {
+            current.cancel();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int capacity() {
+        return ring.length;
+    }
+
+    @Override
+    public boolean isDone() {
+        lock.lock();
+        try {
+            return terminated;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long dropped() {
+        lock.lock();
+        try {
+            return dropped;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.stream.impl;
+
+import io.advantageous.reakt.Stream;
+import io.advantageous.reakt.stream.StreamEmitter;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Emitter that reuses one {@link FlyweightStreamResult}.
+ * A reentrant send, a consumer that makes the producer send from inside onNext, gets its own result so the
+ * outer one is not overwritten.
+ *
+ * @param <T> type of item
+ * @author Rick Hightower
+ */
+public class StreamEmitterImpl<T> implements StreamEmitter<T> {
+
+    public static final boolean DEBUG = Boolean.getBoolean("reakt.streamDebug");
+
+    private final Stream<T> stream;
+    private final Runnable cancel;
+    private final Consumer<Long> requestMore;
+    private final boolean debug;
+    private final FlyweightStreamResult<T> result;
+
+    public StreamEmitterImpl(final Stream<T> stream, final Runnable cancel,
+                             final Consumer<Long> requestMore, final boolean debug) {
+        this.stream = Objects.requireNonNull(stream, "stream cannot be null");
+        this.cancel = cancel;
+        this.requestMore = requestMore;
+        this.debug = debug;
+        this.result = new FlyweightStreamResult<>(cancel, requestMore, debug);
+    }
+
+    @Override
+    public void reply(final T value) {
+        emit(value, false);
+    }
+
+    @Override
+    public void reply(final T value, final boolean done) {
+        emit(value, done);
+    }
+
+    @Override
+    public void reject(final Throwable error) {
+        emit(Objects.requireNonNull(error, "error cannot be null"), true);
+    }
+
+    private void emit(final Object value, final boolean done) {
+        FlyweightStreamResult<T> current = result;
+        if (debug || current.active()) {
+            current = new FlyweightStreamResult<>(cancel, requestMore, debug);
+        }
+        current.set(value, done);
+        try {
+            stream.onNext(current);
+        } finally {
+            current.clear();
+        }
+    }
+}
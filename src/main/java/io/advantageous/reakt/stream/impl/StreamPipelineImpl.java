@@ -0,0 +1,180 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.stream.impl;
+
+import io.advantageous.reakt.Stream;
+import io.advantageous.reakt.stream.StreamPipeline;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Immutable list of operator factories. Each operator is created fresh for every {@link #to(Stream)}, since
+ * operators like take and scan keep state.
+ *
+ * @param <I> type of item the pipeline takes
+ * @param <O> type of item the pipeline sends
+ * @author Rick Hightower
+ */
+public class StreamPipelineImpl<I, O> implements StreamPipeline<I, O> {
+
+    private static final StreamPipelineImpl<?, ?> EMPTY = new StreamPipelineImpl<>(Collections.emptyList());
+
+    private final List<Supplier<FusedStream.Operator>> operators;
+
+    private StreamPipelineImpl(final List<Supplier<FusedStream.Operator>> operators) {
+        this.operators = operators;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> StreamPipeline<T, T> pipeline() {
+        return (StreamPipeline<T, T>) EMPTY;
+    }
+
+    private <R> StreamPipeline<I, R> add(final Supplier<FusedStream.Operator> operator) {
+        final List<Supplier<FusedStream.Operator>> list = new ArrayList<>(operators.size() + 1);
+        list.addAll(operators);
+        list.add(operator);
+        return new StreamPipelineImpl<>(Collections.unmodifiableList(list));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R> StreamPipeline<I, R> map(final Function<? super O, ? extends R> mapper) {
+        Objects.requireNonNull(mapper, "mapper cannot be null");
+        final Function<Object, Object> function = (Function<Object, Object>) mapper;
+        return add(() -> value -> {
+            final Object result = function.apply(value);
+            return result == null ? FusedStream.SKIP : result;
+        });
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public StreamPipeline<I, O> filter(final Predicate<? super O> predicate) {
+        Objects.requireNonNull(predicate, "predicate cannot be null");
+        final Predicate<Object> test = (Predicate<Object>) predicate;
+        return add(() -> value -> test.test(value) ? value : FusedStream.SKIP);
+    }
+
+    @Override
+    public StreamPipeline<I, O> take(final long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count cannot be negative");
+        }
+        return add(() -> new FusedStream.Take(count));
+    }
+
+    @Override
+    public StreamPipeline<I, O> skip(final long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count cannot be negative");
+        }
+        return add(() -> new FusedStream.Operator() {
+            private long remaining = count;
+
+            @Override
+            public Object apply(final Object value) {
+                if (remaining > 0) {
+                    remaining--;
+                    return FusedStream.SKIP;
+                }
+                return value;
+            }
+        });
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R> StreamPipeline<I, R> scan(final R initial, final BiFunction<R, ? super O, R> accumulator) {
+        Objects.requireNonNull(accumulator, "accumulator cannot be null");
+        final BiFunction<Object, Object, Object> function = (BiFunction<Object, Object, Object>) accumulator;
+        return add(() -> new FusedStream.Operator() {
+            private Object accumulated = initial;
+
+            @Override
+            public Object apply(final Object value) {
+                accumulated = function.apply(accumulated, value);
+                return accumulated == null ? FusedStream.SKIP : accumulated;
+            }
+        });
+    }
+
+    @Override
+    public StreamPipeline<I, O> distinctUntilChanged() {
+        return add(() -> new FusedStream.Operator() {
+            private Object last = FusedStream.SKIP;
+
+            @Override
+            public Object apply(final Object value) {
+                if (value.equals(last)) {
+                    return FusedStream.SKIP;
+                }
+                last = value;
+                return value;
+            }
+        });
+    }
+
+    @Override
+    public StreamPipeline<I, List<O>> buffer(final int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size must be at least 1");
+        }
+        return add(() -> new FusedStream.Operator() {
+            private List<Object> items = new ArrayList<>(size);
+
+            @Override
+            public Object apply(final Object value) {
+                items.add(value);
+                if (items.size() < size) {
+                    return FusedStream.SKIP;
+                }
+                final List<Object> full = items;
+                items = new ArrayList<>(size);
+                return full;
+            }
+
+            @Override
+            public Object flush() {
+                if (items.isEmpty()) {
+                    return FusedStream.SKIP;
+                }
+                final List<Object> partial = items;
+                items = Collections.emptyList();
+                return partial;
+            }
+        });
+    }
+
+    @Override
+    public Stream<I> to(final Stream<O> downstream) {
+        final FusedStream.Operator[] fused = new FusedStream.Operator[operators.size()];
+        for (int index = 0; index < fused.length; index++) {
+            fused[index] = operators.get(index).get();
+        }
+        return new FusedStream<>(fused, downstream);
+    }
+}
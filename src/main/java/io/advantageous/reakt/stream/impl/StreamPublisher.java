@@ -0,0 +1,156 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.stream.impl;
+
+import io.advantageous.reakt.Stream;
+import io.advantageous.reakt.StreamResult;
+import io.advantageous.reakt.exception.StreamOverflowException;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Publishes what a reakt stream source replies, honoring the subscriber's demand.
+ * <p>
+ * The source is started on the first {@code request(n)} and may reply with one item unasked. The rest of
+ * the demand is passed to the source through {@link StreamResult#request(long)} on the last result it sent,
+ * in one call per batch, not per item. An item beyond the outstanding demand cancels the source and fails the
+ * subscriber with a {@link StreamOverflowException}, nothing is buffered.
+ *
+ * @param <T> type of item
+ * @author Rick Hightower
+ */
+public class StreamPublisher<T> implements Publisher<T> {
+
+    private final Consumer<Stream<T>> source;
+
+    public StreamPublisher(final Consumer<Stream<T>> source) {
+        this.source = Objects.requireNonNull(source, "source cannot be null");
+    }
+
+    @Override
+    public void subscribe(final Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber cannot be null");
+        subscriber.onSubscribe(new Bridge<>(subscriber, source));
+    }
+
+    private static final class Bridge<T> implements Subscription, Stream<T> {
+
+        private final Subscriber<? super T> subscriber;
+        private final Consumer<Stream<T>> source;
+        private final AtomicLong demand = new AtomicLong();
+        /* Demand not yet passed to the source, starts at -1 for the item the source sends unasked. */
+        private final AtomicLong unforwarded = new AtomicLong(-1);
+        private final AtomicBoolean started = new AtomicBoolean();
+        private volatile StreamResult<T> upstream;
+        private volatile boolean cancelled;
+        private boolean done;
+
+        private Bridge(final Subscriber<? super T> subscriber, final Consumer<Stream<T>> source) {
+            this.subscriber = subscriber;
+            this.source = source;
+        }
+
+        @Override
+        public void request(final long n) {
+            if (n <= 0) {
+                cancel();
+                subscriber.onError(new IllegalArgumentException("request must be positive, was " + n));
+                return;
+            }
+            Demand.add(demand, n);
+            Demand.add(unforwarded, n);
+            if (started.compareAndSet(false, true)) {
+                try {
+                    source.accept(this);
+                } catch (Exception ex) {
+                    reject(ex);
+                    return;
+                }
+            }
+            forward();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            final StreamResult<T> current = upstream;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+
+        @Override
+        public void onNext(final StreamResult<T> result) {
+            if (done) {
+                return;
+            }
+            if (cancelled) {
+                done = true;
+                result.cancel();
+                return;
+            }
+            upstream = result;
+            if (result.failure()) {
+                done = true;
+                subscriber.onError(result.cause());
+                return;
+            }
+            final T value = result.get();
+            if (value != null) {
+                if (demand.get() == 0) {
+                    done = true;
+                    result.cancel();
+                    subscriber.onError(new StreamOverflowException("Stream replied with more items than requested"));
+                    return;
+                }
+                Demand.produced(demand, 1);
+                subscriber.onNext(value);
+            }
+            if (result.complete()) {
+                done = true;
+                subscriber.onComplete();
+                return;
+            }
+            forward();
+        }
+
+        private void forward() {
+            final StreamResult<T> current = upstream;
+            if (current == null || cancelled) {
+                return;
+            }
+            for (; ; ) {
+                final long n = unforwarded.get();
+                if (n <= 0) {
+                    return;
+                }
+                if (unforwarded.compareAndSet(n, 0)) {
+                    current.request(n);
+                    return;
+                }
+            }
+        }
+    }
+}
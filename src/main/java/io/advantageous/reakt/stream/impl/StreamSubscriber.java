@@ -0,0 +1,112 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.stream.impl;
+
+import io.advantageous.reakt.Stream;
+import io.advantageous.reakt.stream.StreamEmitter;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.Objects;
+
+/**
+ * Subscribes a reakt stream to a publisher.
+ * <p>
+ * It requests {@code prefetch} items up front and requests more in batches, each time three quarters of the
+ * prefetch has been delivered, so the publisher sees one {@code request(n)} per batch. The count of delivered
+ * items is only touched by {@code onNext}, which the publisher calls serially, so there is no per item
+ * synchronization. Items are sent with a {@link StreamEmitter}, so a result is only valid during onNext.
+ * Each result's {@code request(n)} asks the publisher for n more on top of the prefetch, and
+ * {@code cancel()} cancels the subscription.
+ *
+ * @param <T> type of item
+ * @author Rick Hightower
+ */
+public class StreamSubscriber<T> implements Subscriber<T> {
+
+    private final StreamEmitter<T> emitter;
+    private final long prefetch;
+    private final long limit;
+    private volatile Subscription subscription;
+    private volatile boolean cancelled;
+    private long consumed;
+
+    public StreamSubscriber(final Stream<T> stream, final int prefetch) {
+        if (prefetch < 1) {
+            throw new IllegalArgumentException("prefetch must be at least 1");
+        }
+        this.emitter = StreamEmitter.emitter(stream, this::cancel, this::request);
+        this.prefetch = prefetch;
+        this.limit = prefetch - (prefetch >> 2);
+    }
+
+    @Override
+    public void onSubscribe(final Subscription subscription) {
+        Objects.requireNonNull(subscription, "subscription cannot be null");
+        if (this.subscription != null) {
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+        subscription.request(prefetch);
+    }
+
+    @Override
+    public void onNext(final T item) {
+        Objects.requireNonNull(item, "item cannot be null");
+        if (cancelled) {
+            return;
+        }
+        emitter.reply(item);
+        if (++consumed == limit && !cancelled) {
+            consumed = 0;
+            subscription.request(limit);
+        }
+    }
+
+    @Override
+    public void onError(final Throwable error) {
+        Objects.requireNonNull(error, "error cannot be null");
+        if (!cancelled) {
+            emitter.reject(error);
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        if (!cancelled) {
+            emitter.complete(null);
+        }
+    }
+
+    private void request(final long n) {
+        final Subscription current = subscription;
+        if (current != null && !cancelled && n > 0) {
+            current.request(n);
+        }
+    }
+
+    private void cancel() {
+        cancelled = true;
+        final Subscription current = subscription;
+        if (current != null) {
+            current.cancel();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.stream.impl;
+
+import io.advantageous.reakt.Stream;
+import io.advantageous.reakt.StreamResult;
+import io.advantageous.reakt.reactor.Reactor;
+import io.advantageous.reakt.reactor.TimeSource;
+import io.advantageous.reakt.stream.StreamEmitter;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Time based rate operators, confined to the reactor.
+ * <p>
+ * The reactor has no way to cancel a task, so each operator keeps at most one fire once task pending and
+ * decides what to do when it fires: throttle last sends the latest item, debounce sends it only if the stream has
+ * been quiet long enough and otherwise waits for the rest of the quiet time, and sample sends it and schedules the
+ * next period. Throttle first needs no timer, it compares the reactor's clock with the end of the quiet time.
+ *
+ * @param <T> type of item
+ * @author Rick Hightower
+ */
+public class TimedStream<T> implements Stream<T> {
+
+    public enum Mode {
+        THROTTLE_FIRST,
+        THROTTLE_LAST,
+        DEBOUNCE,
+        SAMPLE
+    }
+
+    private final Mode mode;
+    private final Reactor reactor;
+    private final TimeSource timeSource;
+    private final long interval;
+    private final StreamEmitter<T> emitter;
+    private final Runnable onTimer = this::onTimer;
+    private T latest;
+    private long quietUntil = Long.MIN_VALUE;
+    private long lastItemTime;
+    private boolean timerPending;
+    private boolean done;
+    private StreamResult<T> upstream;
+
+    public TimedStream(final Mode mode, final Reactor reactor, final Duration interval, final Stream<T> downstream) {
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("interval must be positive");
+        }
+        this.mode = Objects.requireNonNull(mode, "mode cannot be null");
+        this.reactor = Objects.requireNonNull(reactor, "reactor cannot be null");
+        this.timeSource = reactor.timeSource();
+        this.interval = interval.toMillis();
+        this.emitter = StreamEmitter.emitter(downstream, this::cancel, null);
+        if (mode == Mode.SAMPLE) {
+            schedule(this.interval);
+        }
+    }
+
+    @Override
+    public void onNext(final StreamResult<T> result) {
+        if (done) {
+            return;
+        }
+        upstream = result;
+        if (result.failure()) {
+            done = true;
+            latest = null;
+            emitter.reject(result.cause());
+            return;
+        }
+        final T value = result.get();
+        final boolean complete = result.complete();
+        if (value != null) {
+            if (mode == Mode.THROTTLE_FIRST) {
+                final long now = timeSource.getTime();
+                if (now >= quietUntil) {
+                    quietUntil = now + interval;
+                    done = complete;
+                    emitter.reply(value, complete);
+                    return;
+                }
+            } else {
+                latest = value;
+                if (mode == Mode.DEBOUNCE) {
+                    lastItemTime = timeSource.getTime();
+                }
+                if (!timerPending && mode != Mode.SAMPLE) {
+                    schedule(interval);
+                }
+            }
+        }
+        if (complete) {
+            done = true;
+            final T last = latest;
+            latest = null;
+            emitter.complete(last);
+        }
+    }
+
+    private void schedule(final long delay) {
+        timerPending = true;
+        reactor.runTaskAfter(Duration.ofMillis(delay), onTimer);
+    }
+
+    private void onTimer() {
+        timerPending = false;
+        if (done) {
+            return;
+        }
+        switch (mode) {
+            case DEBOUNCE:
+                final long quiet = timeSource.getTime() - lastItemTime;
+                if (quiet < interval) {
+                    schedule(interval - quiet);
+                    return;
+                }
+                flush();
+                break;
+            case SAMPLE:
+                flush();
+                if (!done) {
+                    schedule(interval);
+                }
+                break;
+            default:
+                flush();
+        }
+    }
+
+    private void flush() {
+        final T value = latest;
+        if (value != null) {
+            latest = null;
+            emitter.reply(value);
+        }
+    }
+
+    private void cancel() {
+        done = true;
+        latest = null;
+        if (upstream != null) {
+            upstream.cancel();
+        }
+    }
+}
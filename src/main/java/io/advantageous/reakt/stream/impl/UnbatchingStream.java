@@ -0,0 +1,90 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.stream.impl;
+
+import io.advantageous.reakt.Stream;
+import io.advantageous.reakt.StreamResult;
+import io.advantageous.reakt.stream.BatchStream;
+import io.advantageous.reakt.stream.StreamEmitter;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Unrolls batches into one onNext per item for a per item stream.
+ * The items are sent with a {@link StreamEmitter}, so unrolling allocates nothing per item. Only the last item
+ * of the last batch is marked done. Request and cancel on an item go to the batch it came from, and a cancel
+ * stops the rest of the batch.
+ *
+ * @param <T> type of item
+ * @author Rick Hightower
+ */
+public class UnbatchingStream<T> implements BatchStream<T> {
+
+    private final StreamEmitter<T> emitter;
+    private StreamResult<List<T>> batch;
+    private boolean cancelled;
+
+    public UnbatchingStream(final Stream<T> stream) {
+        Objects.requireNonNull(stream, "stream cannot be null");
+        this.emitter = StreamEmitter.emitter(stream, this::cancel, this::request);
+    }
+
+    @Override
+    public void onNext(final StreamResult<List<T>> result) {
+        if (cancelled) {
+            result.cancel();
+            return;
+        }
+        batch = result;
+        if (result.failure()) {
+            emitter.reject(result.cause());
+            return;
+        }
+        final boolean done = result.complete();
+        final List<T> items = result.get();
+        final int size = items == null ? 0 : items.size();
+        if (size == 0) {
+            if (done) {
+                emitter.complete(null);
+            }
+            return;
+        }
+        final int last = size - 1;
+        for (int index = 0; index < last && !cancelled; index++) {
+            emitter.reply(items.get(index));
+        }
+        if (!cancelled) {
+            emitter.reply(items.get(last), done);
+        }
+    }
+
+    private void cancel() {
+        cancelled = true;
+        if (batch != null) {
+            batch.cancel();
+        }
+    }
+
+    private void request(final long n) {
+        if (batch != null) {
+            batch.request(n);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.stream.impl;
+
+import io.advantageous.reakt.Expected;
+import io.advantageous.reakt.metrics.HistogramSnapshot;
+import io.advantageous.reakt.metrics.LatencyHistogram;
+import io.advantageous.reakt.stream.WindowStats;
+
+import java.util.Arrays;
+
+/**
+ * Primitive accumulator of count, sum, min, max and optionally a histogram.
+ * Not thread safe, it lives on the reactor thread.
+ *
+ * @author Rick Hightower
+ */
+public class WindowAccumulator {
+
+    private final long[] buckets;
+    private long count;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+
+    public WindowAccumulator(final boolean histogram) {
+        this.buckets = histogram ? new long[LatencyHistogram.BUCKET_COUNT] : null;
+    }
+
+    public void add(final long value) {
+        count++;
+        sum += value;
+        if (value < min) {
+            min = value;
+        }
+        if (value > max) {
+            max = value;
+        }
+        if (buckets != null) {
+            buckets[LatencyHistogram.bucketIndex(value)]++;
+        }
+    }
+
+    /**
+     * Adds the values of another accumulator to this one.
+     *
+     * @param other accumulator, must have the same histogram setting
+     */
+    public void merge(final WindowAccumulator other) {
+        if (other.count == 0) {
+            return;
+        }
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        if (buckets != null) {
+            for (int index = 0; index < buckets.length; index++) {
+                buckets[index] += other.buckets[index];
+            }
+        }
+    }
+
+    public void reset() {
+        count = 0;
+        sum = 0;
+        min = Long.MAX_VALUE;
+        max = Long.MIN_VALUE;
+        if (buckets != null) {
+            Arrays.fill(buckets, 0);
+        }
+    }
+
+    public WindowStats stats(final long start, final long end) {
+        final boolean empty = count == 0;
+        final long theMin = empty ? 0 : min;
+        final long theMax = empty ? 0 : max;
+        final Expected<HistogramSnapshot> histogram = buckets == null ? Expected.empty()
+                : Expected.of(new HistogramSnapshot(buckets.clone(), count, sum, theMin, theMax));
+        return new WindowStats(start, end, count, sum, theMin, theMax, histogram);
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.stream.impl;
+
+import io.advantageous.reakt.Stream;
+import io.advantageous.reakt.StreamResult;
+import io.advantageous.reakt.reactor.Reactor;
+import io.advantageous.reakt.reactor.TimeSource;
+import io.advantageous.reakt.stream.StreamEmitter;
+import io.advantageous.reakt.stream.WindowStats;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.ToLongFunction;
+
+/**
+ * Window operator, a tumbling window is a sliding window whose slide equals its size.
+ * <p>
+ * The window is split into panes of one slide each, kept in a ring of accumulators. Closing a pane sends the
+ * merge of all panes as the window that ends there, then the oldest pane is reset and becomes the current one.
+ * Panes are closed by a fire once reactor task that reschedules itself for the next boundary, and also when an
+ * item arrives after a boundary the timer has not reached yet, so items always land in the right pane.
+ *
+ * @param <T> type of item
+ * @author Rick Hightower
+ */
+public class WindowStream<T> implements Stream<T> {
+
+    private final Reactor reactor;
+    private final TimeSource timeSource;
+    private final long size;
+    private final long slide;
+    private final ToLongFunction<? super T> valueOf;
+    private final StreamEmitter<WindowStats> emitter;
+    private final WindowAccumulator[] panes;
+    private final WindowAccumulator window;
+    private int current;
+    private long paneStart;
+    private boolean done;
+    private StreamResult<T> upstream;
+
+    public WindowStream(final Reactor reactor,
+                        final long size,
+                        final long slide,
+                        final ToLongFunction<? super T> valueOf,
+                        final boolean histogram,
+                        final Stream<WindowStats> downstream) {
+        if (slide < 1 || size < slide || size % slide != 0) {
+            throw new IllegalArgumentException("size must be a positive multiple of slide");
+        }
+        this.reactor = Objects.requireNonNull(reactor, "reactor cannot be null");
+        this.timeSource = reactor.timeSource();
+        this.size = size;
+        this.slide = slide;
+        this.valueOf = Objects.requireNonNull(valueOf, "valueOf cannot be null");
+        this.emitter = StreamEmitter.emitter(downstream, this::cancel, null);
+        this.panes = new WindowAccumulator[(int) (size / slide)];
+        for (int index = 0; index < panes.length; index++) {
+            panes[index] = new WindowAccumulator(histogram);
+        }
+        this.window = new WindowAccumulator(histogram);
+        final long now = timeSource.getTime();
+        this.paneStart = now - Math.floorMod(now, slide);
+        schedule(now);
+    }
+
+    private void schedule(final long now) {
+        reactor.runTaskAfter(Duration.ofMillis(Math.max(0, paneStart + slide - now)), this::onTimer);
+    }
+
+    private void onTimer() {
+        if (done) {
+            return;
+        }
+        final long now = timeSource.getTime();
+        advance(now);
+        if (!done) {
+            schedule(now);
+        }
+    }
+
+    private void advance(final long now) {
+        while (!done && now >= paneStart + slide) {
+            final long end = paneStart + slide;
+            emitter.reply(merge(end - size, end));
+            current = (current + 1) % panes.length;
+            panes[current].reset();
+            paneStart = end;
+        }
+    }
+
+    private WindowStats merge(final long start, final long end) {
+        window.reset();
+        for (WindowAccumulator pane : panes) {
+            window.merge(pane);
+        }
+        return window.stats(start, end);
+    }
+
+    @Override
+    public void onNext(final StreamResult<T> result) {
+        if (done) {
+            return;
+        }
+        upstream = result;
+        if (result.failure()) {
+            done = true;
+            emitter.reject(result.cause());
+            return;
+        }
+        final long now = timeSource.getTime();
+        advance(now);
+        if (done) {
+            return;
+        }
+        final T value = result.get();
+        if (value != null) {
+            panes[current].add(valueOf.applyAsLong(value));
+        }
+        if (result.complete()) {
+            done = true;
+            /* The open window, cut short at the current time. */
+            emitter.complete(merge(paneStart + slide - size, now));
+        }
+    }
+
+    private void cancel() {
+        done = true;
+        if (upstream != null) {
+            upstream.cancel();
+        }
+    }
+}
@@ -21,6 +21,7 @@ package io.advantageous.reakt;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.util.Collections;
 
 import static org.junit.Assert.*;
 
@@ -46,6 +47,21 @@ public class ResultTest {
     }
 
 
+    @Test
+    public void testCommonResultsAreShared() {
+        assertSame(Result.DONE, Result.result(null));
+        assertSame(Result.result(true), Result.result(Boolean.TRUE));
+        assertSame(Result.result(42), Result.result(42));
+        assertSame(Result.result(-128), Result.result(-128));
+        assertSame(Result.result(7L), Result.result(7L));
+        assertSame(Result.result(""), Result.result(""));
+        assertSame(Result.result(Collections.emptyList()), Result.result(Collections.emptyList()));
+        assertNotSame(Result.result(100_000), Result.result(100_000));
+        assertEquals(Integer.valueOf(1023), Result.result(1023).get());
+        assertEquals(Long.valueOf(-5), Result.result(-5L).get());
+        assertFalse(Result.result(false).get());
+    }
+
     @Test
     public void testFail() {
         final Result<Employee> rick = Result.error(new IOException("Rick"));
@@ -0,0 +1,110 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.exception;
+
+import io.advantageous.reakt.promise.Promise;
+import io.advantageous.reakt.promise.Promises;
+import io.advantageous.reakt.reactor.Reactor;
+import io.advantageous.reakt.reactor.impl.TestTimer;
+import org.junit.After;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class ExceptionModeTest {
+
+    @After
+    public void after() {
+        ExceptionMode.setMode(ExceptionMode.FULL);
+    }
+
+    @Test
+    public void testFullMode() {
+        final TimeoutException timeout = PromiseTimeoutException.timeout(100, 50, 200);
+        assertTrue(timeout.getStackTrace().length > 0);
+        assertEquals("Operation timed out start time 100 timeout duration ms 50 time 200 elapsed time 100",
+                timeout.getMessage());
+        assertTrue(RejectedPromiseException.rejected("failed").getStackTrace().length > 0);
+    }
+
+    @Test
+    public void testStacklessMode() {
+        ExceptionMode.setMode(ExceptionMode.STACKLESS);
+
+        final TimeoutException timeout = PromiseTimeoutException.timeout(100, 50, 200);
+        assertEquals(0, timeout.getStackTrace().length);
+        assertTrue(timeout.getMessage().endsWith("elapsed time 100"));
+        assertNotSame(timeout, PromiseTimeoutException.timeout(100, 50, 200));
+
+        final RejectedPromiseException rejected = RejectedPromiseException.rejected("failed");
+        assertEquals(0, rejected.getStackTrace().length);
+        assertEquals("failed", rejected.getMessage());
+    }
+
+    @Test
+    public void testSharedMode() {
+        ExceptionMode.setMode(ExceptionMode.SHARED);
+
+        final TimeoutException timeout = PromiseTimeoutException.timeout(100, 50, 200);
+        assertSame(timeout, PromiseTimeoutException.timeout(1, 2, 3));
+        assertEquals(0, timeout.getStackTrace().length);
+        assertEquals("Operation timed out", timeout.getMessage());
+    }
+
+    @Test
+    public void testParseMode() {
+        assertEquals(ExceptionMode.STACKLESS, ExceptionMode.parse("stackless"));
+        assertEquals(ExceptionMode.SHARED, ExceptionMode.parse(" Shared "));
+        assertEquals(ExceptionMode.FULL, ExceptionMode.parse(null));
+        assertEquals(ExceptionMode.FULL, ExceptionMode.parse("fast"));
+    }
+
+    @Test
+    public void testCallbackRejectUsesMode() {
+        ExceptionMode.setMode(ExceptionMode.STACKLESS);
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        final Promise<String> promise = Promises.<String>promise().catchError(error::set);
+
+        promise.asHandler().reject("failed");
+        assertEquals(0, error.get().getStackTrace().length);
+    }
+
+    @Test
+    public void testReactorTimeoutUsesMode() {
+        ExceptionMode.setMode(ExceptionMode.SHARED);
+        final TestTimer testTimer = new TestTimer();
+        testTimer.setTime(System.currentTimeMillis());
+        final Reactor reactor = Reactor.reactor(Duration.ofSeconds(30), testTimer);
+        final AtomicReference<Throwable> first = new AtomicReference<>();
+        final AtomicReference<Throwable> second = new AtomicReference<>();
+
+        reactor.promise(Duration.ofSeconds(1)).catchError(first::set);
+        reactor.promise(Duration.ofSeconds(1)).catchError(second::set);
+        reactor.process();
+        testTimer.setTime(testTimer.getTime() + 5000);
+        reactor.process();
+
+        assertTrue(first.get() instanceof PromiseTimeoutException);
+        assertSame(first.get(), second.get());
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.metrics;
+
+import io.advantageous.reakt.promise.Promise;
+import io.advantageous.reakt.promise.Promises;
+import io.advantageous.reakt.reactor.Reactor;
+import io.advantageous.reakt.reactor.impl.TestTimer;
+import org.junit.Test;
+
+import java.time.Duration;
+
+import static org.junit.Assert.*;
+
+public class PromiseMetricsTest {
+
+    @Test
+    public void testNamedPromiseRecordsOutcomes() {
+        final PromiseStatsSnapshot before = PromiseMetrics.metrics().stats("testNamed").snapshot();
+
+        final Promise<String> success = Promises.promise("testNamed");
+        success.asHandler().resolve("done");
+        final Promise<String> failure = Promises.promise("testNamed");
+        failure.asHandler().reject("failed");
+
+        final PromiseStatsSnapshot after = PromiseMetrics.metrics().snapshot().get("testNamed");
+        assertEquals(before.successes() + 1, after.successes());
+        assertEquals(before.failures() + 1, after.failures());
+        assertEquals(before.latency().count() + 2, after.latency().count());
+    }
+
+    @Test
+    public void testReactorNamedPromiseRecordsTimeout() {
+        final TestTimer testTimer = new TestTimer();
+        testTimer.setTime(System.currentTimeMillis());
+        final Reactor reactor = Reactor.reactor(Duration.ofSeconds(30), testTimer);
+
+        reactor.promise("testReactorNamed", Duration.ofSeconds(1));
+        reactor.process();
+        testTimer.setTime(testTimer.getTime() + 5000);
+        reactor.process();
+
+        final PromiseStatsSnapshot snapshot = PromiseMetrics.metrics().stats("testReactorNamed").snapshot();
+        assertEquals(1, snapshot.timeouts());
+        assertEquals(0, snapshot.successes());
+    }
+
+    @Test
+    public void testReactorNamedPromiseRecordsBeforeReplay() {
+        final Reactor reactor = Reactor.reactor(Duration.ofSeconds(30), new TestTimer());
+
+        final Promise<String> promise = reactor.promise("testReactorNamedSuccess", Duration.ofSeconds(1));
+        promise.asHandler().resolve("done");
+
+        final PromiseStatsSnapshot snapshot = PromiseMetrics.metrics().stats("testReactorNamedSuccess").snapshot();
+        assertEquals(1, snapshot.successes());
+        assertEquals(1, snapshot.latency().count());
+
+        reactor.process();
+        assertEquals(1, PromiseMetrics.metrics().stats("testReactorNamedSuccess").snapshot().successes());
+    }
+
+    @Test
+    public void testHistogramPercentiles() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (int value = 1; value <= 10_000; value++) {
+            histogram.record(value);
+        }
+        final HistogramSnapshot snapshot = histogram.snapshot();
+
+        assertEquals(10_000, snapshot.count());
+        assertEquals(1, snapshot.min());
+        assertEquals(10_000, snapshot.max());
+        assertEquals(5000.5, snapshot.mean(), 0.001);
+        assertEquals(5000, snapshot.valueAtPercentile(50), 5000 / 16);
+        assertEquals(9900, snapshot.valueAtPercentile(99), 9900 / 16);
+        assertEquals(10_000, snapshot.valueAtPercentile(100));
+    }
+
+    @Test
+    public void testBucketBounds() {
+        for (long value : new long[]{0, 1, 15, 16, 17, 31, 32, 1000, 123_456_789L, Long.MAX_VALUE}) {
+            final int index = LatencyHistogram.bucketIndex(value);
+            assertTrue(LatencyHistogram.bucketLowerBound(index) <= value);
+            assertTrue(LatencyHistogram.bucketUpperBound(index) >= value);
+        }
+        assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.bucketIndex(Long.MAX_VALUE));
+    }
+}
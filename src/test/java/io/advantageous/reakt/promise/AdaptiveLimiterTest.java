@@ -0,0 +1,100 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.promise;
+
+import io.advantageous.reakt.Callback;
+import io.advantageous.reakt.exception.LimitExceededException;
+import io.advantageous.reakt.reactor.impl.TestTimer;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.advantageous.reakt.promise.AdaptiveLimiter.adaptiveLimiter;
+import static org.junit.Assert.*;
+
+public class AdaptiveLimiterTest {
+
+    @Test
+    public void testShedOverLimit() {
+        final AdaptiveLimiter limiter = adaptiveLimiter(LimitAlgorithm.aimd(1, 10), 2);
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        limiter.<String>deferCall(callback -> {
+        }).invoke();
+        limiter.<String>deferCall(callback -> {
+        }).invoke();
+        limiter.<String>deferCall(callback -> fail("Should not be called"))
+                .catchError(error::set).invoke();
+
+        assertTrue(error.get() instanceof LimitExceededException);
+        assertEquals(2, limiter.inFlight());
+        assertEquals(1, limiter.rejected());
+    }
+
+    @Test
+    public void testAimdGrowsAndBacksOff() {
+        final TestTimer timer = new TestTimer();
+        final AdaptiveLimiter limiter = adaptiveLimiter(LimitAlgorithm.aimd(1, 100, 0.5), 4, timer);
+        final List<Callback<String>> callbacks = new ArrayList<>();
+
+        for (int index = 0; index < 4; index++) {
+            limiter.<String>deferCall(callbacks::add).invoke();
+        }
+        timer.setTime(10);
+        callbacks.forEach(callback -> callback.resolve("done"));
+
+        assertEquals(7, limiter.limit());
+        assertEquals(10, limiter.minRtt());
+        assertEquals(10, limiter.smoothedRtt());
+
+        callbacks.clear();
+        limiter.<String>deferCall(callbacks::add).invoke();
+        callbacks.get(0).reject(new TimeoutException());
+        assertEquals(3, limiter.limit());
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    public void testGradientBacksOffWhenLatencyGrows() {
+        final TestTimer timer = new TestTimer();
+        final AdaptiveLimiter limiter = adaptiveLimiter(LimitAlgorithm.gradient(1, 100), 20, timer);
+
+        for (int index = 0; index < 20; index++) {
+            runCalls(limiter, timer, 20, 10);
+        }
+        final int limitWithLowLatency = limiter.limit();
+        assertTrue(limitWithLowLatency > 20);
+
+        runCalls(limiter, timer, limiter.limit(), 100);
+        assertTrue(limiter.limit() < limitWithLowLatency);
+        assertEquals(10, limiter.minRtt());
+    }
+
+    private void runCalls(final AdaptiveLimiter limiter, final TestTimer timer, final int count, final long rtt) {
+        final List<Callback<String>> callbacks = new ArrayList<>();
+        for (int index = 0; index < count; index++) {
+            limiter.<String>deferCall(callbacks::add).invoke();
+        }
+        timer.setTime(timer.getTime() + rtt);
+        callbacks.forEach(callback -> callback.resolve("done"));
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.promise;
+
+import io.advantageous.reakt.Result;
+import io.advantageous.reakt.reactor.Reactor;
+import io.advantageous.reakt.reactor.impl.TestTimer;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.advantageous.reakt.promise.Promises.allSettled;
+import static io.advantageous.reakt.promise.Promises.promise;
+import static org.junit.Assert.*;
+
+public class AllSettledTest {
+
+    @Test
+    public void testAllSettledKeepsFailures() {
+        final Promise<String> first = promise();
+        final Promise<String> second = promise();
+        final Promise<String> third = promise();
+        final AtomicReference<List<Result<String>>> results = new AtomicReference<>();
+
+        allSettled(first, second, third).then(results::set);
+
+        third.asHandler().resolve("c");
+        first.asHandler().reject("failed");
+        assertNull(results.get());
+        second.asHandler().resolve("b");
+
+        assertEquals(3, results.get().size());
+        assertTrue(results.get().get(0).failure());
+        assertEquals("b", results.get().get(1).get());
+        assertEquals("c", results.get().get(2).get());
+    }
+
+    @Test
+    public void testAllSettledEmpty() {
+        final AtomicReference<List<Result<String>>> results = new AtomicReference<>();
+        Promises.<String>allSettled(Collections.emptyList()).then(results::set);
+        assertTrue(results.get().isEmpty());
+    }
+
+    @Test
+    public void testGatherReturnsPartialResultsAtDeadline() {
+        final TestTimer testTimer = new TestTimer();
+        testTimer.setTime(System.currentTimeMillis());
+        final Reactor reactor = Reactor.reactor(Duration.ofSeconds(30), testTimer);
+        reactor.process();
+
+        final Promise<String> fast = promise();
+        final Promise<String> slow = promise();
+        final AtomicReference<List<Result<String>>> results = new AtomicReference<>();
+        reactor.gather(Duration.ofMillis(200), Arrays.asList(fast, slow)).then(results::set);
+
+        fast.asHandler().resolve("fast");
+        testTimer.setTime(testTimer.getTime() + 100);
+        reactor.process();
+        assertNull(results.get());
+
+        testTimer.setTime(testTimer.getTime() + 200);
+        reactor.process();
+        reactor.process();
+
+        assertEquals("fast", results.get().get(0).get());
+        assertTrue(results.get().get(1).cause() instanceof TimeoutException);
+        assertTrue(results.get().get(1).cause().getMessage().contains("timeout duration ms 200"));
+        assertTrue(results.get().get(1).cause().getMessage().endsWith("elapsed time 300"));
+        assertTrue(slow.isCancelled());
+    }
+
+    @Test
+    public void testGatherCompletesEarlyWhenAllArrive() {
+        final Reactor reactor = Reactor.reactor();
+        final Promise<Integer> first = promise();
+        final Promise<Integer> second = promise();
+        final AtomicReference<List<Result<Integer>>> results = new AtomicReference<>();
+        reactor.gather(Duration.ofSeconds(10), Arrays.asList(first, second)).then(results::set);
+
+        first.asHandler().resolve(1);
+        second.asHandler().reject("failed");
+        reactor.process();
+
+        assertEquals(Integer.valueOf(1), results.get().get(0).get());
+        assertTrue(results.get().get(1).failure());
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.promise;
+
+import io.advantageous.reakt.Callback;
+import io.advantageous.reakt.exception.BulkheadFullException;
+import io.advantageous.reakt.reactor.Reactor;
+import io.advantageous.reakt.reactor.impl.TestTimer;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.advantageous.reakt.promise.Bulkhead.bulkhead;
+import static org.junit.Assert.*;
+
+public class BulkheadTest {
+
+    @Test
+    public void testQueuedCallsRunWhenEarlierCallsComplete() {
+        final Bulkhead bulkhead = bulkhead(2, 10);
+        final List<Callback<String>> callbacks = new ArrayList<>();
+        final List<String> results = new ArrayList<>();
+
+        for (int index = 0; index < 4; index++) {
+            bulkhead.<String>deferCall(callbacks::add).then(results::add).invoke();
+        }
+
+        assertEquals(2, callbacks.size());
+        assertEquals(2, bulkhead.inFlight());
+        assertEquals(2, bulkhead.queued());
+
+        callbacks.get(0).resolve("a");
+        assertEquals(3, callbacks.size());
+        assertEquals(1, bulkhead.queued());
+        assertEquals("a", results.get(0));
+
+        callbacks.get(1).resolve("b");
+        callbacks.get(2).reject("c");
+        callbacks.get(3).resolve("d");
+
+        assertEquals(4, callbacks.size());
+        assertEquals(0, bulkhead.inFlight());
+        assertEquals(0, bulkhead.queued());
+        assertEquals(3, results.size());
+    }
+
+    @Test
+    public void testRejectWhenQueueIsFull() {
+        final Bulkhead bulkhead = bulkhead(1, 1);
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        bulkhead.<String>deferCall(callback -> {
+        }).invoke();
+        bulkhead.<String>deferCall(callback -> {
+        }).invoke();
+        bulkhead.<String>deferCall(callback -> fail("Should not be called"))
+                .catchError(error::set).invoke();
+
+        assertTrue(error.get() instanceof BulkheadFullException);
+        assertEquals(1, bulkhead.rejected());
+        assertEquals(1, bulkhead.queued());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testOnlyInvokablePromises() {
+        bulkhead(1, 1).wrap(Promises.promise());
+    }
+
+    @Test
+    public void testQueueWaitTimesOutWithReactor() {
+        final TestTimer testTimer = new TestTimer();
+        testTimer.setTime(System.currentTimeMillis());
+        final Reactor reactor = Reactor.reactor(Duration.ofSeconds(30), testTimer);
+        final Bulkhead bulkhead = bulkhead(1, 10, reactor, Duration.ofSeconds(1));
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        bulkhead.<String>deferCall(callback -> {
+        }).invoke();
+        bulkhead.<String>deferCall(callback -> fail("Should not be called"))
+                .catchError(error::set).invoke();
+        reactor.process();
+        assertNull(error.get());
+
+        testTimer.setTime(testTimer.getTime() + 2000);
+        reactor.process();
+
+        assertTrue(error.get() instanceof TimeoutException);
+        assertEquals(0, bulkhead.queued());
+        assertEquals(1, bulkhead.inFlight());
+    }
+
+    @Test
+    public void testQueueTimerRearmsForLaterCalls() {
+        final TestTimer testTimer = new TestTimer();
+        testTimer.setTime(System.currentTimeMillis());
+        final Reactor reactor = Reactor.reactor(Duration.ofSeconds(30), testTimer);
+        final Bulkhead bulkhead = bulkhead(1, 10, reactor, Duration.ofSeconds(1));
+        final List<Throwable> errors = new ArrayList<>();
+
+        bulkhead.<String>deferCall(callback -> {
+        }).invoke();
+        bulkhead.<String>deferCall(callback -> fail("Should not be called")).catchError(errors::add).invoke();
+        reactor.process();
+        testTimer.setTime(testTimer.getTime() + 2000);
+        reactor.process();
+        assertEquals(1, errors.size());
+
+        bulkhead.<String>deferCall(callback -> fail("Should not be called")).catchError(errors::add).invoke();
+        reactor.process();
+        assertEquals(1, errors.size());
+        testTimer.setTime(testTimer.getTime() + 2000);
+        reactor.process();
+
+        assertEquals(2, errors.size());
+        assertTrue(errors.get(1) instanceof TimeoutException);
+        assertEquals(0, bulkhead.queued());
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.promise;
+
+import io.advantageous.reakt.reactor.Reactor;
+import io.advantageous.reakt.reactor.impl.TestTimer;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.advantageous.reakt.promise.Promises.*;
+import static org.junit.Assert.*;
+
+public class CancellationTest {
+
+    @Test
+    public void testCancelReachesProducer() {
+        final AtomicBoolean aborted = new AtomicBoolean();
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        final Promise<String> promise = Promises.<String>deferCall(callback -> callback.onCancel(() -> aborted.set(true)))
+                .catchError(error::set);
+        promise.invoke();
+
+        assertTrue(promise.cancel());
+        assertTrue(aborted.get());
+        assertTrue(promise.isCancelled());
+        assertTrue(error.get() instanceof CancellationException);
+        assertFalse("second cancel is a no-op", promise.cancel());
+    }
+
+    @Test
+    public void testResolvedPromiseCannotBeCancelled() {
+        final AtomicBoolean aborted = new AtomicBoolean();
+        final Promise<String> promise = Promises.<String>deferCall(callback -> {
+            callback.onCancel(() -> aborted.set(true));
+            callback.resolve("done");
+        });
+        promise.invoke();
+
+        assertFalse(promise.cancel());
+        assertFalse(promise.isCancelled());
+        assertFalse(aborted.get());
+    }
+
+    @Test
+    public void testCancelPropagatesThroughThenMap() {
+        final AtomicBoolean aborted = new AtomicBoolean();
+        final PromiseHandler<String> source = Promises.<String>deferCall(callback ->
+                callback.onCancel(() -> aborted.set(true))).asHandler();
+        final PromiseHandler<Integer> mapped = source.thenMap(String::length).thenMap(length -> length * 2);
+        source.invoke();
+
+        assertTrue(mapped.cancel());
+        assertTrue(aborted.get());
+        assertTrue(source.isCancelled());
+    }
+
+    @Test
+    public void testCancelledSourceCancelsMapped() {
+        final PromiseHandler<String> source = Promises.<String>promise().asHandler();
+        final PromiseHandler<Integer> mapped = source.thenMap(String::length);
+
+        source.cancel();
+        assertTrue(mapped.isCancelled());
+    }
+
+    @Test
+    public void testAnyCancelsLosers() {
+        final Promise<String> winner = promise();
+        final Promise<String> loser = promise();
+        final Promise<Void> any = any(winner, loser);
+
+        winner.asHandler().resolve("first");
+        assertTrue(any.asHandler().complete());
+        assertTrue(loser.isCancelled());
+        assertFalse(winner.isCancelled());
+    }
+
+    @Test
+    public void testAllCancelsChildren() {
+        final Promise<String> done = promise();
+        final Promise<String> running = promise();
+        final Promise<Void> all = all(done, running);
+
+        done.asHandler().resolve("done");
+        all.cancel();
+
+        assertTrue(running.isCancelled());
+        assertFalse(done.isCancelled());
+    }
+
+    @Test
+    public void testAllFailureCancelsRemaining() {
+        final Promise<String> failing = promise();
+        final Promise<String> running = promise();
+        final Promise<Void> all = all(failing, running);
+
+        failing.asHandler().reject("failed");
+        assertTrue(all.asHandler().failure());
+        assertTrue(running.isCancelled());
+    }
+
+    @Test
+    public void testReactorTimeoutCancelsProducer() {
+        final TestTimer testTimer = new TestTimer();
+        testTimer.setTime(System.currentTimeMillis());
+        final Reactor reactor = Reactor.reactor(Duration.ofSeconds(30), testTimer);
+        final AtomicBoolean aborted = new AtomicBoolean();
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        Promises.<String>deferCall(callback -> callback.onCancel(() -> aborted.set(true)))
+                .catchError(error::set)
+                .asHandler().invokeWithReactor(reactor, Duration.ofSeconds(1));
+
+        reactor.process();
+        assertFalse(aborted.get());
+        testTimer.setTime(testTimer.getTime() + 5000);
+        reactor.process();
+
+        assertTrue(aborted.get());
+        assertNotNull(error.get());
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.promise;
+
+import io.advantageous.reakt.exception.ThenHandlerException;
+import io.advantageous.reakt.reactor.Reactor;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.advantageous.reakt.promise.Promises.rejected;
+import static io.advantageous.reakt.promise.Promises.resolved;
+import static org.junit.Assert.*;
+
+public class CompletedPromiseTest {
+
+    @Test
+    public void testResolved() {
+        final AtomicReference<String> value = new AtomicReference<>();
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        resolved("done").then(value::set).catchError(error::set);
+
+        assertEquals("done", value.get());
+        assertNull(error.get());
+        assertEquals("done", resolved("done").blockingGet());
+    }
+
+    @Test
+    public void testRejected() {
+        final AtomicReference<String> value = new AtomicReference<>();
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        Promises.<String>rejected(new IOException("failed")).then(value::set).catchError(error::set);
+
+        assertNull(value.get());
+        assertTrue(error.get() instanceof IOException);
+    }
+
+    @Test
+    public void testSharedConstants() {
+        assertSame(resolved(null), resolved(null));
+        assertSame(resolved(true), resolved(true));
+        assertNotSame(resolved(true), resolved(false));
+    }
+
+    @Test
+    public void testThenMap() {
+        final PromiseHandler<Integer> mapped = resolved("four").asHandler().thenMap(String::length);
+        assertEquals(Integer.valueOf(4), mapped.get());
+
+        final PromiseHandler<Integer> failed = Promises.<String>rejected(new IOException()).asHandler()
+                .thenMap(String::length);
+        assertTrue(failed.failure());
+    }
+
+    @Test
+    public void testThenSafeReportsHandlerError() {
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        resolved("done").thenSafe(value -> {
+            throw new IllegalStateException(value);
+        }).catchError(error::set);
+
+        assertTrue(error.get() instanceof ThenHandlerException);
+    }
+
+    @Test
+    public void testWhenCompleteAndResultsIgnored() {
+        final PromiseHandler<String> promise = resolved("done").asHandler();
+        promise.resolve("other");
+        assertEquals("done", promise.get());
+
+        final AtomicReference<PromiseHandler<String>> completed = new AtomicReference<>();
+        promise.whenComplete(completed::set);
+        assertSame(promise, completed.get());
+        assertFalse(promise.cancel());
+    }
+
+    @Test
+    public void testInvokeWithReactor() {
+        final Reactor reactor = Reactor.reactor();
+        final AtomicReference<String> value = new AtomicReference<>();
+
+        resolved("done").asHandler().invokeWithReactor(reactor).then(value::set);
+        assertNull(value.get());
+
+        reactor.process();
+        assertEquals("done", value.get());
+    }
+}
@@ -19,11 +19,13 @@
 package io.advantageous.reakt.promise;
 
 import io.advantageous.reakt.Expected;
+import io.advantageous.reakt.reactor.Reactor;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.net.URI;
+import java.time.Duration;
 import java.util.Queue;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -216,6 +218,79 @@ public class InvokablePromiseTest {
         assertTrue("Is this an invokable promise", promise.asHandler().isInvokable());
     }
 
+    @Test
+    public void testSupplyAsyncRunsOnExecutor() throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final AtomicReference<Thread> supplierThread = new AtomicReference<>();
+        try {
+            Promises.supplyAsync(executor, () -> {
+                supplierThread.set(Thread.currentThread());
+                return successResult;
+            }).then(this::handleSuccess).catchError(this::handleError).invoke();
+
+            latch.await(10, TimeUnit.SECONDS);
+            assertEquals(successResult, returnValue.get());
+            assertNotSame(Thread.currentThread(), supplierThread.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testInvokeOnRejectsWhenConsumerThrows() throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Promises.<URI>invokablePromise(callback -> {
+                throw new IllegalStateException("boom");
+            }).then(this::handleSuccess).catchError(this::handleError).asHandler().invokeOn(executor);
+
+            latch.await(10, TimeUnit.SECONDS);
+            assertTrue(errorRef.get() instanceof IllegalStateException);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testDefaultInvokeOnRejectsWhenExecutorRefuses() {
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        Bulkhead.bulkhead(1, 1).<URI>deferCall(callback -> fail("Should not be called"))
+                .catchError(error::set).asHandler().invokeOn(command -> {
+            throw new RejectedExecutionException("full");
+        });
+
+        assertTrue(error.get() instanceof RejectedExecutionException);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testDefaultInvokeOnRequiresInvokablePromise() {
+        Promises.<URI>promise().asHandler().invokeOn(Runnable::run);
+    }
+
+    @Test
+    public void testSupplyAsyncReplaysOnReactor() throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final Reactor reactor = Reactor.reactor(Duration.ofSeconds(10));
+        final AtomicReference<Thread> handlerThread = new AtomicReference<>();
+        try {
+            reactor.supplyAsync(executor, () -> successResult).then(uri -> {
+                handlerThread.set(Thread.currentThread());
+                returnValue.set(uri);
+            });
+
+            final long end = System.currentTimeMillis() + 10_000;
+            while (returnValue.get() == null && System.currentTimeMillis() < end) {
+                reactor.process();
+                Thread.sleep(1);
+            }
+            assertEquals(successResult, returnValue.get());
+            assertSame(Thread.currentThread(), handlerThread.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
 
     private void handleError(Throwable error) {
         errorRef.set(error);
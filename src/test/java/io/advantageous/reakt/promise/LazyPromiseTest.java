@@ -0,0 +1,126 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.promise;
+
+import io.advantageous.reakt.Callback;
+import io.advantageous.reakt.reactor.impl.TestTimer;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.advantageous.reakt.promise.Promises.lazyCall;
+import static io.advantageous.reakt.promise.Promises.lazyPromise;
+import static org.junit.Assert.*;
+
+public class LazyPromiseTest {
+
+    @Test
+    public void testNotRunUntilSubscribed() {
+        final AtomicInteger runs = new AtomicInteger();
+        final Promise<String> promise = lazyPromise(() -> "config" + runs.incrementAndGet());
+
+        assertEquals(0, runs.get());
+        assertFalse(promise.asHandler().complete());
+
+        final AtomicReference<String> first = new AtomicReference<>();
+        final AtomicReference<String> second = new AtomicReference<>();
+        promise.then(first::set);
+        promise.then(second::set);
+
+        assertEquals(1, runs.get());
+        assertEquals("config1", first.get());
+        assertEquals("config1", second.get());
+    }
+
+    @Test
+    public void testBlockingGetRuns() {
+        final AtomicInteger runs = new AtomicInteger();
+        final Promise<Integer> promise = lazyPromise(runs::incrementAndGet);
+
+        assertEquals(Integer.valueOf(1), promise.blockingGet());
+        assertEquals(Integer.valueOf(1), promise.blockingGet());
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    public void testAsyncSubscribersShareOneCall() {
+        final AtomicInteger calls = new AtomicInteger();
+        final AtomicReference<Callback<String>> pending = new AtomicReference<>();
+        final Promise<String> promise = lazyCall(callback -> {
+            calls.incrementAndGet();
+            pending.set(callback);
+        });
+        final AtomicInteger handled = new AtomicInteger();
+        for (int index = 0; index < 10; index++) {
+            promise.then(value -> handled.incrementAndGet());
+        }
+
+        assertEquals(1, calls.get());
+        pending.get().resolve("done");
+        assertEquals(10, handled.get());
+    }
+
+    @Test
+    public void testExpiry() {
+        final TestTimer timer = new TestTimer();
+        timer.setTime(1000);
+        final AtomicInteger runs = new AtomicInteger();
+        final Promise<Integer> promise = lazyPromise(runs::incrementAndGet, timer, Duration.ofSeconds(10));
+
+        final AtomicReference<Integer> value = new AtomicReference<>();
+        promise.then(value::set);
+        timer.setTime(5000);
+        promise.then(value::set);
+        assertEquals(Integer.valueOf(1), value.get());
+
+        timer.setTime(12_000);
+        promise.then(value::set);
+        assertEquals(Integer.valueOf(2), value.get());
+    }
+
+    @Test
+    public void testFailureIsShared() {
+        final AtomicInteger runs = new AtomicInteger();
+        final Promise<String> promise = lazyCall(callback -> {
+            runs.incrementAndGet();
+            throw new IllegalStateException("down");
+        });
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        final AtomicReference<String> value = new AtomicReference<>();
+
+        promise.then(value::set).catchError(error::set);
+
+        assertEquals(1, runs.get());
+        assertNull(value.get());
+        assertTrue(error.get() instanceof IllegalStateException);
+    }
+
+    @Test
+    public void testCancelStartsOver() {
+        final AtomicInteger calls = new AtomicInteger();
+        final Promise<String> promise = lazyCall(callback -> calls.incrementAndGet());
+        promise.invoke();
+        assertTrue(promise.cancel());
+
+        promise.invoke();
+        assertEquals(2, calls.get());
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.promise;
+
+import io.advantageous.reakt.reactor.Reactor;
+import io.advantageous.reakt.reactor.impl.TestTimer;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static io.advantageous.reakt.promise.Promises.*;
+import static org.junit.Assert.*;
+
+public class MapAsyncTest {
+
+    private static List<Integer> range(final int count) {
+        return IntStream.range(0, count).boxed().collect(Collectors.toList());
+    }
+
+    @Test
+    public void testOrderedKeepsOrderAndBoundsParallelism() {
+        final List<Promise<String>> calls = new ArrayList<>();
+        final List<String> results = new ArrayList<>();
+        final AtomicBoolean done = new AtomicBoolean();
+
+        final Promise<Void> promise = mapAsync(range(5), item -> {
+            final Promise<String> call = promise();
+            calls.add(call);
+            return call;
+        }, 2, results::add);
+        promise.then(v -> done.set(true)).invoke();
+
+        assertEquals(2, calls.size());
+
+        /* The second call finishes first, it waits for the first one. */
+        calls.get(1).asHandler().resolve("1");
+        assertTrue(results.isEmpty());
+        assertEquals(2, calls.size());
+
+        calls.get(0).asHandler().resolve("0");
+        assertEquals(Arrays.asList("0", "1"), results);
+        assertEquals(4, calls.size());
+
+        calls.get(3).asHandler().resolve("3");
+        calls.get(2).asHandler().resolve("2");
+        assertEquals(5, calls.size());
+        assertFalse(done.get());
+
+        calls.get(4).asHandler().resolve("4");
+        assertEquals(Arrays.asList("0", "1", "2", "3", "4"), results);
+        assertTrue(done.get());
+    }
+
+    @Test
+    public void testUnorderedEmitsAsCompleted() {
+        final List<Promise<String>> calls = new ArrayList<>();
+        final List<String> results = new ArrayList<>();
+
+        mapAsyncUnordered(range(3), item -> {
+            final Promise<String> call = promise();
+            calls.add(call);
+            return call;
+        }, 2, results::add).invoke();
+
+        assertEquals(2, calls.size());
+        calls.get(1).asHandler().resolve("1");
+        assertEquals(Arrays.asList("1"), results);
+        assertEquals(3, calls.size());
+        calls.get(2).asHandler().resolve("2");
+        calls.get(0).asHandler().resolve("0");
+        assertEquals(Arrays.asList("1", "2", "0"), results);
+    }
+
+    @Test
+    public void testFailureCancelsInFlight() {
+        final List<Promise<String>> calls = new ArrayList<>();
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        mapAsync(range(10), item -> {
+            final Promise<String> call = promise();
+            calls.add(call);
+            return call;
+        }, 3, value -> {
+        }).catchError(error::set).invoke();
+
+        calls.get(1).asHandler().reject("boom");
+
+        assertEquals("boom", error.get().getMessage());
+        assertEquals(3, calls.size());
+        assertTrue(calls.get(0).isCancelled());
+        assertTrue(calls.get(2).isCancelled());
+    }
+
+    @Test
+    public void testCancelStopsPullingItems() {
+        final List<Promise<String>> calls = new ArrayList<>();
+
+        final Promise<Void> promise = mapAsync(range(10), item -> {
+            final Promise<String> call = promise();
+            calls.add(call);
+            return call;
+        }, 2, value -> {
+        });
+        promise.invoke();
+        promise.cancel();
+
+        assertTrue(calls.get(0).isCancelled());
+        assertTrue(calls.get(1).isCancelled());
+        calls.get(0).asHandler().resolve("late");
+        assertEquals(2, calls.size());
+    }
+
+    @Test
+    public void testSynchronousCallsDoNotRecurse() {
+        final AtomicInteger sum = new AtomicInteger();
+        final AtomicBoolean done = new AtomicBoolean();
+
+        mapAsync(range(100_000), item -> invokablePromise(callback -> callback.resolve(1)),
+                4, sum::addAndGet).then(v -> done.set(true)).invoke();
+
+        assertTrue(done.get());
+        assertEquals(100_000, sum.get());
+    }
+
+    @Test
+    public void testReactorRunsOnProcess() {
+        final TestTimer testTimer = new TestTimer();
+        testTimer.setTime(System.currentTimeMillis());
+        final Reactor reactor = Reactor.reactor(Duration.ofSeconds(30), testTimer);
+        final List<Promise<String>> calls = new ArrayList<>();
+        final List<String> results = new ArrayList<>();
+
+        reactor.mapAsync(range(3), item -> {
+            final Promise<String> call = promise();
+            calls.add(call);
+            return call;
+        }, 2, true, results::add).invoke();
+
+        assertTrue(calls.isEmpty());
+        reactor.process();
+        assertEquals(2, calls.size());
+
+        calls.get(0).asHandler().resolve("0");
+        assertTrue(results.isEmpty());
+        reactor.process();
+        assertEquals(Arrays.asList("0"), results);
+        assertEquals(3, calls.size());
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.promise;
+
+import io.advantageous.reakt.exception.ThenHandlerException;
+import io.advantageous.reakt.reactor.Reactor;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.advantageous.reakt.promise.Promises.multicastPromise;
+import static org.junit.Assert.*;
+
+public class MulticastPromiseTest {
+
+    @Test
+    public void testAllSubscribersCalledInOrder() {
+        final Promise<String> promise = multicastPromise();
+        final List<String> calls = new ArrayList<>();
+        for (int index = 0; index < 1000; index++) {
+            final int subscriber = index;
+            promise.then(value -> calls.add(value + subscriber));
+        }
+
+        promise.asHandler().resolve("config");
+
+        assertEquals(1000, calls.size());
+        assertEquals("config0", calls.get(0));
+        assertEquals("config999", calls.get(999));
+    }
+
+    @Test
+    public void testLateSubscriberCalledRightAway() {
+        final Promise<String> promise = multicastPromise();
+        promise.asHandler().resolve("config");
+
+        final AtomicReference<String> late = new AtomicReference<>();
+        promise.then(late::set);
+        assertEquals("config", late.get());
+    }
+
+    @Test
+    public void testErrorsGoToAllCatchSubscribers() {
+        final Promise<String> promise = multicastPromise();
+        final AtomicInteger errors = new AtomicInteger();
+        final AtomicInteger values = new AtomicInteger();
+        promise.then(value -> values.incrementAndGet())
+                .catchError(error -> errors.incrementAndGet())
+                .catchError(error -> errors.incrementAndGet());
+
+        promise.asHandler().reject("failed");
+
+        assertEquals(0, values.get());
+        assertEquals(2, errors.get());
+    }
+
+    @Test
+    public void testFailingSubscriberDoesNotStopOthers() {
+        final Promise<String> promise = multicastPromise();
+        final AtomicReference<Throwable> handlerError = new AtomicReference<>();
+        final AtomicReference<String> other = new AtomicReference<>();
+        promise.thenSafe(value -> {
+            throw new IllegalStateException(value);
+        }).catchError(handlerError::set).then(other::set);
+
+        promise.asHandler().resolve("config");
+
+        assertTrue(handlerError.get() instanceof ThenHandlerException);
+        assertEquals("config", other.get());
+    }
+
+    @Test
+    public void testConcurrentSubscribers() throws Exception {
+        final Promise<String> promise = multicastPromise();
+        final int threads = 8;
+        final int perThread = 1000;
+        final AtomicInteger calls = new AtomicInteger();
+        final CountDownLatch started = new CountDownLatch(threads);
+        final CountDownLatch done = new CountDownLatch(threads);
+        for (int thread = 0; thread < threads; thread++) {
+            new Thread(() -> {
+                started.countDown();
+                for (int index = 0; index < perThread; index++) {
+                    promise.then(value -> calls.incrementAndGet());
+                }
+                done.countDown();
+            }).start();
+        }
+        started.await(10, TimeUnit.SECONDS);
+        promise.asHandler().resolve("config");
+        done.await(10, TimeUnit.SECONDS);
+
+        assertEquals(threads * perThread, calls.get());
+    }
+
+    @Test
+    public void testThenMapAndReactorRelay() {
+        final Promise<String> promise = multicastPromise();
+        final Reactor reactor = Reactor.reactor();
+        final AtomicReference<Integer> mapped = new AtomicReference<>();
+        final AtomicReference<String> replayed = new AtomicReference<>();
+        promise.asHandler().thenMap(String::length).then(mapped::set);
+        promise.asHandler().invokeWithReactor(reactor).then(replayed::set);
+
+        promise.asHandler().resolve("config");
+        assertEquals(Integer.valueOf(6), mapped.get());
+        assertNull(replayed.get());
+
+        reactor.process();
+        assertEquals("config", replayed.get());
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.promise;
+
+import io.advantageous.reakt.reactor.Reactor;
+import io.advantageous.reakt.reactor.impl.TestTimer;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+public class PromiseScopeTest {
+
+    @Test
+    public void testCompletesWhenAllChildrenComplete() {
+        final PromiseScope scope = PromiseScope.promiseScope();
+        final Promise<String> first = scope.promise();
+        final Promise<Integer> second = scope.promise();
+        final Promise<Void> done = scope.close();
+
+        first.asHandler().resolve("first");
+        assertFalse(done.asHandler().complete());
+        assertEquals(1, scope.active());
+
+        second.asHandler().resolve(2);
+        assertTrue(done.asHandler().success());
+        assertEquals(0, scope.active());
+    }
+
+    @Test
+    public void testCloseWaitsForPendingChildAfterOthersCompleted() {
+        final PromiseScope scope = PromiseScope.promiseScope();
+        scope.promise().asHandler().resolve(null);
+        assertEquals(0, scope.active());
+        final Promise<String> pending = scope.promise();
+
+        final Promise<Void> done = scope.close();
+        assertFalse(done.asHandler().complete());
+
+        pending.asHandler().resolve("done");
+        assertTrue(done.asHandler().success());
+    }
+
+    @Test
+    public void testCloseCompletesWhenChildrenAlreadyCompleted() {
+        final PromiseScope scope = PromiseScope.promiseScope();
+        scope.promise().asHandler().resolve(null);
+
+        final Promise<Void> done = scope.close();
+        assertTrue(done.asHandler().success());
+    }
+
+    @Test
+    public void testFirstFailureCancelsRemaining() {
+        final PromiseScope scope = PromiseScope.promiseScope();
+        final AtomicBoolean aborted = new AtomicBoolean();
+        final Promise<String> failing = scope.promise();
+        final Promise<String> running = scope.<String>deferCall(callback -> callback.onCancel(() -> aborted.set(true)));
+        running.invoke();
+        final Promise<Void> done = scope.close();
+
+        failing.asHandler().reject("failed");
+
+        assertTrue(done.asHandler().failure());
+        assertEquals("failed", done.asHandler().cause().getMessage());
+        assertTrue(running.isCancelled());
+        assertTrue(aborted.get());
+        assertEquals(0, scope.active());
+    }
+
+    @Test
+    public void testChildAddedAfterFailureIsCancelled() {
+        final PromiseScope scope = PromiseScope.promiseScope();
+        scope.promise().asHandler().reject("failed");
+
+        final Promise<String> late = scope.promise();
+        assertTrue(late.isCancelled());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testClosedScopeRejectsChildren() {
+        final PromiseScope scope = PromiseScope.promiseScope();
+        scope.close();
+        scope.promise();
+    }
+
+    @Test
+    public void testDeadlineCancelsChildren() {
+        final TestTimer testTimer = new TestTimer();
+        testTimer.setTime(System.currentTimeMillis());
+        final Reactor reactor = Reactor.reactor(Duration.ofSeconds(30), testTimer);
+        reactor.process();
+        final PromiseScope scope = PromiseScope.promiseScope(reactor, Duration.ofSeconds(1));
+        final Promise<String> running = scope.promise();
+        final Promise<Void> done = scope.close();
+
+        reactor.process();
+        assertFalse(done.asHandler().complete());
+
+        testTimer.setTime(testTimer.getTime() + 2000);
+        reactor.process();
+
+        assertTrue(done.asHandler().cause() instanceof TimeoutException);
+        assertTrue(running.isCancelled());
+    }
+
+    @Test
+    public void testCancellingCompletionCancelsChildren() {
+        final PromiseScope scope = PromiseScope.promiseScope();
+        final Promise<String> running = scope.promise();
+
+        scope.close().cancel();
+        assertTrue(running.isCancelled());
+    }
+}
@@ -1044,6 +1044,46 @@ public class PromiseTest {
 
     }
 
+    @Test
+    public void testDeepThenMapChainDoesNotOverflow() {
+        final PromiseHandler<Integer> root = Promises.<Integer>promise().asHandler();
+        PromiseHandler<Integer> chain = root;
+        for (int index = 0; index < 100_000; index++) {
+            chain = chain.thenMap(value -> value + 1);
+        }
+        final AtomicReference<Integer> result = new AtomicReference<>();
+        chain.then(result::set);
+
+        root.resolve(0);
+        assertEquals(Integer.valueOf(100_000), result.get());
+    }
+
+    @Test
+    public void testDeepThenPromiseRelayDoesNotOverflow() {
+        final PromiseHandler<String> root = Promises.<String>promise().asHandler();
+        PromiseHandler<String> chain = root;
+        for (int index = 0; index < 100_000; index++) {
+            final PromiseHandler<String> next = Promises.<String>promise().asHandler();
+            chain.thenPromise(next);
+            chain = next;
+        }
+        final AtomicReference<String> result = new AtomicReference<>();
+        chain.then(result::set);
+
+        root.resolve("done");
+        assertEquals("done", result.get());
+    }
+
+    @Test
+    public void testShallowCompletionRunsBeforeResolveReturns() {
+        final PromiseHandler<String> promise = Promises.<String>promise().asHandler();
+        final AtomicReference<String> result = new AtomicReference<>();
+        promise.thenMap(String::length).thenMap(length -> length * 2).then(value -> result.set("" + value));
+
+        promise.resolve("four");
+        assertEquals("8", result.get());
+    }
+
     public static class Sheep {
 
         private final String name;
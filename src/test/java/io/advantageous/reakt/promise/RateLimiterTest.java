@@ -0,0 +1,220 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.promise;
+
+import io.advantageous.reakt.exception.RateLimitedException;
+import io.advantageous.reakt.reactor.Reactor;
+import io.advantageous.reakt.reactor.impl.TestTimer;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class RateLimiterTest {
+
+    private Reactor reactor;
+    private TestTimer testTimer;
+
+    @Before
+    public void before() {
+        testTimer = new TestTimer();
+        testTimer.setTime(System.currentTimeMillis());
+        reactor = Reactor.reactor(Duration.ofSeconds(30), testTimer);
+    }
+
+    @Test
+    public void testBurstThenQueueReleasedByReactor() {
+        final RateLimiter rateLimiter = RateLimiter.rateLimiter(reactor, 10, 2, 10);
+        final AtomicInteger called = new AtomicInteger();
+
+        for (int index = 0; index < 4; index++) {
+            rateLimiter.<String>deferCall(callback -> {
+                called.incrementAndGet();
+                callback.resolve("done");
+            }).invoke();
+        }
+        assertEquals(2, called.get());
+
+        reactor.process();
+        assertEquals(2, called.get());
+
+        testTimer.setTime(testTimer.getTime() + 150);
+        reactor.process();
+        assertEquals(3, called.get());
+
+        testTimer.setTime(testTimer.getTime() + 150);
+        reactor.process();
+        assertEquals(4, called.get());
+    }
+
+    @Test
+    public void testRejectWhenQueueIsFull() {
+        final RateLimiter rateLimiter = RateLimiter.rateLimiter(reactor, 1, 1, 0);
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        assertTrue(rateLimiter.tryAcquire());
+        rateLimiter.<String>deferCall(callback -> fail("Should not be called"))
+                .catchError(error::set).invoke();
+
+        assertTrue(error.get() instanceof RateLimitedException);
+    }
+
+    @Test
+    public void testBucketPerKey() {
+        final KeyedRateLimiter<String> rateLimiter = KeyedRateLimiter.keyedRateLimiter(reactor, 1, 1, 10);
+
+        assertTrue(rateLimiter.tryAcquire("a"));
+        assertFalse(rateLimiter.tryAcquire("a"));
+        assertTrue(rateLimiter.tryAcquire("b"));
+
+        testTimer.setTime(testTimer.getTime() + 1000);
+        assertTrue(rateLimiter.tryAcquire("a"));
+    }
+
+    @Test
+    public void testFullBucketsAreDroppedWhenTableGrows() {
+        final KeyedRateLimiter<Integer> rateLimiter = KeyedRateLimiter.keyedRateLimiter(reactor, 100, 1, 10);
+
+        for (int index = 0; index < 10_000; index++) {
+            rateLimiter.tryAcquire(index);
+            testTimer.setTime(testTimer.getTime() + 1);
+        }
+        assertTrue(rateLimiter.buckets() < 100);
+    }
+
+    @Test
+    public void testQueuedCallsKeepTheirTurn() {
+        final KeyedRateLimiter<String> keyedRateLimiter = KeyedRateLimiter.keyedRateLimiter(reactor, 1, 1, 10);
+        final RateLimiter rateLimiter = keyedRateLimiter.forKey("a");
+        final List<String> called = new ArrayList<>();
+
+        rateLimiter.<String>deferCall(callback -> called.add("first")).invoke();
+        rateLimiter.<String>deferCall(callback -> called.add("second")).invoke();
+        assertEquals(1, called.size());
+
+        testTimer.setTime(testTimer.getTime() + 1000);
+        rateLimiter.<String>deferCall(callback -> called.add("third")).invoke();
+        assertEquals(1, called.size());
+        assertEquals(2, keyedRateLimiter.queued());
+
+        reactor.process();
+        assertEquals(Arrays.asList("first", "second"), called);
+    }
+
+    @Test
+    public void testTryAcquireDoesNotJumpQueuedCalls() {
+        final KeyedRateLimiter<String> keyedRateLimiter = KeyedRateLimiter.keyedRateLimiter(reactor, 1, 1, 10);
+        final RateLimiter rateLimiter = keyedRateLimiter.forKey("a");
+        final AtomicInteger called = new AtomicInteger();
+
+        assertTrue(rateLimiter.tryAcquire());
+        rateLimiter.<String>deferCall(callback -> called.incrementAndGet()).invoke();
+        assertEquals(1, keyedRateLimiter.queued());
+
+        testTimer.setTime(testTimer.getTime() + 1000);
+        assertFalse(rateLimiter.tryAcquire());
+        assertFalse(keyedRateLimiter.tryAcquire("a"));
+        assertTrue(keyedRateLimiter.tryAcquire("b"));
+
+        reactor.process();
+        assertEquals(1, called.get());
+        assertEquals(0, keyedRateLimiter.queued());
+    }
+
+    @Test
+    public void testQueueWaitTimesOut() {
+        final KeyedRateLimiter<String> keyedRateLimiter =
+                KeyedRateLimiter.keyedRateLimiter(reactor, 1, 1, 10, Duration.ofMillis(500));
+        final RateLimiter rateLimiter = keyedRateLimiter.forKey("a");
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        assertTrue(rateLimiter.tryAcquire());
+        rateLimiter.<String>deferCall(callback -> fail("Should not be called"))
+                .catchError(error::set).invoke();
+        reactor.process();
+        assertNull(error.get());
+
+        testTimer.setTime(testTimer.getTime() + 600);
+        reactor.process();
+
+        assertTrue(error.get() instanceof TimeoutException);
+        assertEquals(0, keyedRateLimiter.queued());
+    }
+
+    @Test
+    public void testNoTaskPendingOnceQueueIsEmpty() {
+        final AtomicInteger pending = new AtomicInteger();
+        final Reactor countingReactor = countPendingTasks(reactor, pending);
+        final RateLimiter rateLimiter = RateLimiter.rateLimiter(countingReactor, 1, 1, 10, Duration.ofMillis(500));
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        final AtomicInteger called = new AtomicInteger();
+        reactor.process();
+
+        rateLimiter.<String>deferCall(callback -> called.incrementAndGet()).invoke();
+        assertEquals(0, pending.get());
+        rateLimiter.<String>deferCall(callback -> fail("Should not be called")).catchError(error::set).invoke();
+        assertEquals(1, pending.get());
+
+        testTimer.setTime(testTimer.getTime() + 600);
+        reactor.process();
+        assertTrue(error.get() instanceof TimeoutException);
+        assertEquals(0, pending.get());
+
+        final RateLimiter released = RateLimiter.rateLimiter(countingReactor, 1, 1, 10);
+        released.<String>deferCall(callback -> called.incrementAndGet()).invoke();
+        released.<String>deferCall(callback -> called.incrementAndGet()).invoke();
+        assertEquals(2, called.get());
+        assertEquals(1, pending.get());
+
+        testTimer.setTime(testTimer.getTime() + 1100);
+        reactor.process();
+        assertEquals(3, called.get());
+        assertEquals(0, pending.get());
+    }
+
+    /**
+     * Wraps the reactor so that the tasks scheduled with runTaskAfter and not yet run are counted.
+     */
+    private static Reactor countPendingTasks(final Reactor reactor, final AtomicInteger pending) {
+        return (Reactor) Proxy.newProxyInstance(Reactor.class.getClassLoader(), new Class<?>[]{Reactor.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("addRepeatingTask")) {
+                        fail("Should not register a repeating task");
+                    }
+                    if (method.getName().equals("runTaskAfter")) {
+                        final Runnable task = (Runnable) args[1];
+                        pending.incrementAndGet();
+                        args[1] = (Runnable) () -> {
+                            pending.decrementAndGet();
+                            task.run();
+                        };
+                    }
+                    return method.invoke(reactor, args);
+                });
+    }
+}
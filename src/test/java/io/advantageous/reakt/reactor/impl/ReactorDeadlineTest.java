@@ -0,0 +1,120 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.reactor.impl;
+
+import io.advantageous.reakt.promise.Promise;
+import io.advantageous.reakt.promise.Promises;
+import io.advantageous.reakt.reactor.Deadline;
+import io.advantageous.reakt.reactor.Reactor;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class ReactorDeadlineTest {
+
+    private Reactor reactor;
+    private TestTimer testTimer;
+
+    @Before
+    public void before() {
+        testTimer = new TestTimer();
+        testTimer.setTime(System.currentTimeMillis());
+        reactor = Reactor.reactor(Duration.ofSeconds(30), testTimer);
+        reactor.process();
+    }
+
+    @Test
+    public void testChildGetsRemainingBudget() {
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        reactor.withDeadline(Duration.ofSeconds(5), () ->
+                reactor.promise(Duration.ofSeconds(60)).catchError(error::set));
+
+        advance(4000);
+        assertNull(error.get());
+
+        advance(4000);
+        assertTrue(error.get() instanceof TimeoutException);
+    }
+
+    @Test
+    public void testOwnTimeoutWinsWhenShorter() {
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        final AtomicReference<Promise<Object>> promise = new AtomicReference<>();
+        reactor.withDeadline(Duration.ofSeconds(60), () ->
+                promise.set(reactor.promise(Duration.ofSeconds(5)).catchError(error::set)));
+
+        advance(8000);
+        assertTrue(error.get() instanceof TimeoutException);
+        assertTrue(promise.get().asHandler().deadline().isPresent());
+    }
+
+    @Test
+    public void testExhaustedBudgetRejectsRightAway() {
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        final AtomicBoolean called = new AtomicBoolean();
+        final Deadline expired = Deadline.deadlineAt(testTimer, testTimer.getTime() - 1);
+
+        reactor.withDeadline(expired, () ->
+                Promises.<String>deferCall(callback -> called.set(true))
+                        .catchError(error::set)
+                        .asHandler().invokeWithReactor(reactor));
+        reactor.process();
+
+        assertTrue(error.get() instanceof TimeoutException);
+        assertFalse("producer must not run", called.get());
+    }
+
+    @Test
+    public void testNestedDeadlineKeepsEarliest() {
+        assertFalse(reactor.deadline().isPresent());
+        final AtomicReference<Deadline> inner = new AtomicReference<>();
+
+        reactor.withDeadline(Duration.ofSeconds(1), () ->
+                reactor.withDeadline(Duration.ofSeconds(10), () -> inner.set(reactor.deadline().get())));
+
+        assertEquals(1000, inner.get().remainingMillis());
+        assertFalse(reactor.deadline().isPresent());
+    }
+
+    @Test
+    public void testDeadlineRestoredForHandlers() {
+        final AtomicReference<Deadline> inHandler = new AtomicReference<>();
+        final AtomicReference<Promise<String>> parent = new AtomicReference<>();
+        reactor.withDeadline(Duration.ofSeconds(2), () ->
+                parent.set(reactor.<String>promise().then(value -> inHandler.set(reactor.deadline().get()))));
+
+        parent.get().asHandler().resolve("done");
+        reactor.process();
+
+        assertNotNull(inHandler.get());
+        assertEquals(2000, inHandler.get().remainingMillis());
+        assertFalse(reactor.deadline().isPresent());
+    }
+
+    private void advance(final long millis) {
+        testTimer.setTime(testTimer.getTime() + millis);
+        reactor.process();
+    }
+}
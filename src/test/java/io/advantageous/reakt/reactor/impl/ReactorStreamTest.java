@@ -0,0 +1,146 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.reactor.impl;
+
+import io.advantageous.reakt.Stream;
+import io.advantageous.reakt.reactor.Reactor;
+import io.advantageous.reakt.stream.OverflowStrategy;
+import io.advantageous.reakt.stream.RecordingStream;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.*;
+
+public class ReactorStreamTest {
+
+    private final RecordingStream<Integer> recorder = new RecordingStream<>();
+    private final List<Thread> threads = new ArrayList<>();
+    private Reactor reactor;
+    private TestTimer testTimer;
+
+    @Before
+    public void before() {
+        testTimer = new TestTimer();
+        testTimer.setTime(System.currentTimeMillis());
+        reactor = Reactor.reactor(Duration.ofSeconds(30), testTimer);
+        reactor.process();
+    }
+
+    private Stream<Integer> consumer() {
+        return result -> {
+            threads.add(Thread.currentThread());
+            recorder.onNext(result);
+        };
+    }
+
+    @Test
+    public void testDeliveredOnProcess() throws Exception {
+        final Stream<Integer> stream = reactor.stream(consumer());
+        final Thread producer = new Thread(() -> recorder.send(stream, 1, 2, 3));
+        producer.start();
+        producer.join();
+
+        assertTrue(recorder.items().isEmpty());
+        reactor.process();
+
+        assertEquals(Arrays.asList(1, 2, 3), recorder.items());
+        threads.forEach(thread -> assertSame(Thread.currentThread(), thread));
+    }
+
+    @Test
+    public void testBatchPerTickAndRequest() {
+        final Stream<Integer> stream = reactor.stream(consumer(), 4, 2, Duration.ofSeconds(10),
+                OverflowStrategy.FAIL);
+        recorder.send(stream, 1);
+        assertEquals(Arrays.asList(3L), recorder.requests());
+        recorder.send(stream, 2, 3, 4);
+
+        reactor.process();
+        assertEquals(Arrays.asList(1, 2), recorder.items());
+        assertEquals(Arrays.asList(3L, 2L), recorder.requests());
+
+        recorder.send(stream, 5, 6);
+        reactor.process();
+        assertEquals(Arrays.asList(1, 2, 3, 4), recorder.items());
+        reactor.process();
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6), recorder.items());
+        assertEquals(Arrays.asList(3L, 2L, 2L, 2L), recorder.requests());
+    }
+
+    @Test
+    public void testComplete() {
+        final Stream<Integer> stream = reactor.stream(consumer(), 4, 2, Duration.ofMillis(100),
+                OverflowStrategy.FAIL);
+        recorder.send(stream, 1);
+        stream.complete(2);
+        reactor.process();
+
+        assertEquals(Arrays.asList(1, 2), recorder.items());
+        assertTrue(recorder.done());
+
+        testTimer.setTime(testTimer.getTime() + 1000);
+        reactor.process();
+        assertNull(recorder.error());
+    }
+
+    @Test
+    public void testIdleTimeout() {
+        final Stream<Integer> stream = reactor.stream(consumer(), 4, 2, Duration.ofMillis(100),
+                OverflowStrategy.FAIL);
+        recorder.send(stream, 1);
+        reactor.process();
+
+        testTimer.setTime(testTimer.getTime() + 50);
+        reactor.process();
+        assertNull(recorder.error());
+
+        testTimer.setTime(testTimer.getTime() + 200);
+        reactor.process();
+        assertTrue(recorder.error() instanceof TimeoutException);
+        assertTrue(recorder.cancelled());
+        assertEquals(Arrays.asList(1), recorder.items());
+    }
+
+    @Test
+    public void testDefaultHasNoIdleTimeoutAndClosesOnFail() {
+        final Stream<Integer> stream = reactor.stream(consumer());
+        recorder.send(stream, 1);
+        reactor.process();
+
+        testTimer.setTime(testTimer.getTime() + 60_000);
+        reactor.process();
+        assertNull(recorder.error());
+
+        stream.fail("closed");
+        reactor.process();
+        assertEquals("closed", recorder.error().getMessage());
+        assertEquals(Arrays.asList(1), recorder.items());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBlockIsRejected() {
+        reactor.stream(consumer(), 4, 2, Duration.ZERO, OverflowStrategy.BLOCK);
+    }
+}
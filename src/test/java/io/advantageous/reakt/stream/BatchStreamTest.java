@@ -0,0 +1,110 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.stream;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class BatchStreamTest {
+
+    @Test
+    public void testBatchConsumer() {
+        final List<List<Integer>> batches = new ArrayList<>();
+        final boolean[] done = new boolean[1];
+        final BatchStream<Integer> stream = result -> {
+            batches.add(result.get());
+            done[0] = result.complete();
+        };
+
+        stream.replyBatch(Arrays.asList(1, 2, 3));
+        stream.replyBatch(new Integer[]{4, 5}, true);
+
+        assertEquals(Arrays.asList(Arrays.asList(1, 2, 3), Arrays.asList(4, 5)), batches);
+        assertTrue(done[0]);
+    }
+
+    @Test
+    public void testUnbatch() {
+        final List<Integer> items = new ArrayList<>();
+        final List<Boolean> done = new ArrayList<>();
+        final BatchStream<Integer> stream = BatchStream.unbatch(result -> {
+            items.add(result.get());
+            done.add(result.complete());
+        });
+
+        stream.replyBatch(Arrays.asList(1, 2));
+        stream.replyBatch(Arrays.asList(3, 4), true);
+
+        assertEquals(Arrays.asList(1, 2, 3, 4), items);
+        assertEquals(Arrays.asList(false, false, false, true), done);
+    }
+
+    @Test
+    public void testUnbatchEmptyLastBatch() {
+        final List<Integer> items = new ArrayList<>();
+        final boolean[] done = new boolean[1];
+        final BatchStream<Integer> stream = BatchStream.unbatch(result -> {
+            items.add(result.get());
+            done[0] = result.complete();
+        });
+
+        stream.replyBatch(Collections.emptyList());
+        assertTrue(items.isEmpty());
+        stream.replyBatch(Collections.emptyList(), true);
+        assertTrue(done[0]);
+    }
+
+    @Test
+    public void testUnbatchCancelStopsBatch() {
+        final List<Integer> items = new ArrayList<>();
+        final List<Long> requests = new ArrayList<>();
+        final boolean[] cancelled = new boolean[1];
+        final BatchStream<Integer> stream = BatchStream.unbatch(result -> {
+            items.add(result.get());
+            if (result.get() == 1) {
+                result.request(100);
+            }
+            if (result.get() == 2) {
+                result.cancel();
+            }
+        });
+
+        stream.replyBatch(Arrays.asList(1, 2, 3), false, () -> cancelled[0] = true, requests::add);
+
+        assertEquals(Arrays.asList(1, 2), items);
+        assertEquals(Arrays.asList(100L), requests);
+        assertTrue(cancelled[0]);
+    }
+
+    @Test
+    public void testUnbatchFailure() {
+        final boolean[] failed = new boolean[1];
+        final BatchStream<Integer> stream = BatchStream.unbatch(result -> failed[0] = result.failure());
+
+        stream.reject("boom");
+
+        assertTrue(failed[0]);
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.stream;
+
+import io.advantageous.reakt.Stream;
+import io.advantageous.reakt.exception.StreamOverflowException;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class BroadcastStreamTest {
+
+    private static void send(final Stream<Integer> stream, final int from, final int to) {
+        for (int value = from; value < to; value++) {
+            stream.reply(value);
+        }
+    }
+
+    @Test
+    public void testEverySubscriberGetsEveryItem() {
+        final BroadcastStream<Integer> stream = BroadcastStream.broadcastStream(8, SlowSubscriberPolicy.DROP);
+        final RecordingStream<Integer> first = new RecordingStream<>();
+        final RecordingStream<Integer> second = new RecordingStream<>();
+        final BroadcastSubscription firstSubscription = stream.subscribe(first);
+        final BroadcastSubscription secondSubscription = stream.subscribe(second);
+
+        send(stream, 0, 3);
+        assertEquals(3, firstSubscription.lag());
+        assertEquals(3, firstSubscription.drain());
+        stream.complete(3);
+        firstSubscription.drain();
+        assertEquals(2, secondSubscription.drain(2));
+        secondSubscription.drain();
+
+        assertEquals(Arrays.asList(0, 1, 2, 3), first.items());
+        assertEquals(Arrays.asList(0, 1, 2, 3), second.items());
+        assertTrue(first.done());
+        assertTrue(second.done());
+    }
+
+    @Test
+    public void testLateSubscriberOnlySeesNewItems() {
+        final BroadcastStream<Integer> stream = BroadcastStream.broadcastStream(8, SlowSubscriberPolicy.DROP);
+        send(stream, 0, 3);
+        final RecordingStream<Integer> recorder = new RecordingStream<>();
+        final BroadcastSubscription subscription = stream.subscribe(recorder);
+        send(stream, 3, 5);
+        subscription.drain();
+        assertEquals(Arrays.asList(3, 4), recorder.items());
+    }
+
+    @Test
+    public void testDropSkipsOverwrittenItems() {
+        final BroadcastStream<Integer> stream = BroadcastStream.broadcastStream(4, SlowSubscriberPolicy.DROP);
+        final RecordingStream<Integer> recorder = new RecordingStream<>();
+        final BroadcastSubscription subscription = stream.subscribe(recorder);
+
+        send(stream, 0, 10);
+        subscription.drain();
+
+        assertEquals(Arrays.asList(6, 7, 8, 9), recorder.items());
+        assertEquals(6, subscription.dropped());
+    }
+
+    @Test
+    public void testDisconnectSlowSubscriber() {
+        final BroadcastStream<Integer> stream = BroadcastStream.broadcastStream(4, SlowSubscriberPolicy.DISCONNECT);
+        final RecordingStream<Integer> slow = new RecordingStream<>();
+        final RecordingStream<Integer> fast = new RecordingStream<>();
+        final BroadcastSubscription slowSubscription = stream.subscribe(slow);
+        final BroadcastSubscription fastSubscription = stream.subscribe(fast);
+
+        for (int value = 0; value < 10; value++) {
+            stream.reply(value);
+            fastSubscription.drain();
+        }
+        slowSubscription.drain();
+
+        assertEquals(10, fast.items().size());
+        assertFalse(slowSubscription.isConnected());
+        assertTrue(fastSubscription.isConnected());
+        assertTrue(slow.error() instanceof StreamOverflowException);
+    }
+
+    @Test
+    public void testFailureReachesSubscribers() {
+        final BroadcastStream<Integer> stream = BroadcastStream.broadcastStream(4, SlowSubscriberPolicy.GATE);
+        final RecordingStream<Integer> recorder = new RecordingStream<>();
+        final BroadcastSubscription subscription = stream.subscribe(recorder);
+        stream.reply(1);
+        stream.reject("boom");
+        subscription.drain();
+        assertEquals(Arrays.asList(1), recorder.items());
+        assertEquals("boom", recorder.error().getMessage());
+    }
+
+    @Test
+    public void testGateWaitsForSlowestSubscriber() throws Exception {
+        final BroadcastStream<Integer> stream = BroadcastStream.broadcastStream(4, SlowSubscriberPolicy.GATE);
+        final RecordingStream<Integer> recorder = new RecordingStream<>();
+        final BroadcastSubscription subscription = stream.subscribe(recorder);
+        final CountDownLatch sent = new CountDownLatch(1);
+        final Thread producer = new Thread(() -> {
+            send(stream, 0, 1000);
+            stream.complete(null);
+            sent.countDown();
+        });
+        producer.start();
+
+        assertFalse(sent.await(20, TimeUnit.MILLISECONDS));
+        final long end = System.currentTimeMillis() + 10_000;
+        while (!recorder.done() && System.currentTimeMillis() < end) {
+            subscription.drain(3);
+        }
+        assertTrue(sent.await(1, TimeUnit.SECONDS));
+        assertEquals(1000, recorder.items().size());
+        for (int index = 0; index < 1000; index++) {
+            assertEquals(index, (int) recorder.items().get(index));
+        }
+        assertEquals(0, subscription.dropped());
+    }
+
+    @Test
+    public void testCancelReleasesGate() {
+        final BroadcastStream<Integer> stream = BroadcastStream.broadcastStream(2, SlowSubscriberPolicy.GATE);
+        final BroadcastSubscription subscription = stream.subscribe(new RecordingStream<>());
+        subscription.cancel();
+        send(stream, 0, 10);
+        assertFalse(subscription.isConnected());
+        assertEquals(0, subscription.drain());
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.stream;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class ConflatingStreamTest {
+
+    private final RecordingStream<String> recorder = new RecordingStream<>();
+
+    private ConflatingStream<String, String> stream(final int expectedKeys) {
+        return ConflatingStream.conflatingStream(recorder, value -> value.substring(0, value.indexOf('=')),
+                expectedKeys);
+    }
+
+    @Test
+    public void testKeepsNewestPerKeyInDirtyOrder() {
+        final ConflatingStream<String, String> stream = stream(4);
+        stream.reply("IBM=1");
+        stream.reply("AAPL=1");
+        stream.reply("IBM=2");
+        stream.reply("IBM=3");
+
+        assertEquals(2, stream.pending());
+        assertEquals(2, stream.conflated());
+        stream.drain();
+        assertEquals(Arrays.asList("IBM=3", "AAPL=1"), recorder.items());
+
+        stream.reply("AAPL=2");
+        stream.drain();
+        assertEquals(Arrays.asList("IBM=3", "AAPL=1", "AAPL=2"), recorder.items());
+        assertEquals(2, stream.keys());
+    }
+
+    @Test
+    public void testDrainMax() {
+        final ConflatingStream<String, String> stream = stream(4);
+        stream.reply("A=1");
+        stream.reply("B=1");
+        stream.reply("C=1");
+
+        assertEquals(2, stream.drain(2));
+        stream.reply("A=2");
+        stream.reply("C=2");
+        stream.drain();
+
+        assertEquals(Arrays.asList("A=1", "B=1", "C=2", "A=2"), recorder.items());
+    }
+
+    @Test
+    public void testGrowsPastExpectedKeys() {
+        final ConflatingStream<String, String> stream = stream(1);
+        for (int round = 0; round < 3; round++) {
+            for (int key = 0; key < 100; key++) {
+                stream.reply(key + "=" + round);
+            }
+        }
+        assertEquals(100, stream.keys());
+        assertEquals(100, stream.drain());
+        assertEquals("0=2", recorder.items().get(0));
+        assertEquals("99=2", recorder.items().get(99));
+    }
+
+    @Test
+    public void testCompleteAfterPending() {
+        final ConflatingStream<String, String> stream = stream(4);
+        stream.reply("A=1");
+        stream.complete("A=2");
+        assertFalse(recorder.done());
+        stream.drain();
+        assertEquals(Arrays.asList("A=2"), recorder.items());
+        assertTrue(recorder.done());
+    }
+
+    @Test
+    public void testFailureAfterPending() {
+        final ConflatingStream<String, String> stream = stream(4);
+        stream.reply("A=1");
+        stream.reject("boom");
+        stream.drain();
+        assertEquals(Arrays.asList("A=1"), recorder.items());
+        assertEquals("boom", recorder.error().getMessage());
+    }
+
+    @Test
+    public void testCancelFromConsumer() {
+        final ConflatingStream<String, String> stream = ConflatingStream.conflatingStream(result -> {
+            recorder.items().add(result.get());
+            result.cancel();
+        }, value -> value, 4);
+        recorder.send(stream, "A", "B");
+
+        assertEquals(1, stream.drain());
+        assertTrue(recorder.cancelled());
+        assertEquals(0, stream.drain());
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.stream;
+
+import io.advantageous.reakt.Stream;
+import io.advantageous.reakt.StreamResult;
+import io.advantageous.reakt.exception.StreamOverflowException;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.*;
+
+public class ReactiveStreamsTest {
+
+    @Test
+    public void testPublisherForwardsDemandInBatches() {
+        final RangeSource source = new RangeSource(10);
+        final RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+        ReactiveStreams.publisher(source).subscribe(subscriber);
+
+        assertTrue(source.requests.isEmpty());
+        subscriber.subscription.request(3);
+        assertEquals(Arrays.asList(0, 1, 2), subscriber.items);
+        /* One item is sent unasked, the rest of the demand is one request. */
+        assertEquals(Arrays.asList(2L), source.requests);
+
+        subscriber.subscription.request(4);
+        assertEquals(7, subscriber.items.size());
+        assertEquals(Arrays.asList(2L, 4L), source.requests);
+        assertFalse(subscriber.completed);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+        assertEquals(10, subscriber.items.size());
+        assertTrue(subscriber.completed);
+        assertNull(subscriber.error);
+    }
+
+    @Test
+    public void testPublisherFailsWhenSourceIgnoresDemand() {
+        final boolean[] cancelled = new boolean[1];
+        final RecordingSubscriber<String> subscriber = new RecordingSubscriber<>();
+        ReactiveStreams.<String>publisher(stream -> {
+            stream.reply("a", false, () -> cancelled[0] = true);
+            stream.reply("b", false, () -> cancelled[0] = true);
+        }).subscribe(subscriber);
+
+        subscriber.subscription.request(1);
+
+        assertEquals(Arrays.asList("a"), subscriber.items);
+        assertTrue(subscriber.error instanceof StreamOverflowException);
+        assertTrue(cancelled[0]);
+    }
+
+    @Test
+    public void testPublisherCancel() {
+        final RangeSource source = new RangeSource(10);
+        final RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+        ReactiveStreams.publisher(source).subscribe(subscriber);
+
+        subscriber.subscription.request(2);
+        subscriber.subscription.cancel();
+
+        assertTrue(source.cancelled);
+        assertEquals(2, subscriber.items.size());
+    }
+
+    @Test
+    public void testPublisherRejectsBadRequest() {
+        final RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+        ReactiveStreams.publisher(new RangeSource(10)).subscribe(subscriber);
+        subscriber.subscription.request(0);
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+    }
+
+    @Test
+    public void testSubscriberReplenishesInBatches() {
+        final TestPublisher publisher = new TestPublisher();
+        final List<String> values = new ArrayList<>();
+        final List<StreamResult<String>> results = new ArrayList<>();
+        final boolean[] completed = new boolean[1];
+        publisher.subscribe(ReactiveStreams.subscriber((Stream<String>) result -> {
+            results.add(result);
+            values.add(result.get());
+            completed[0] = result.complete();
+        }, 4));
+
+        assertEquals(Arrays.asList(4L), publisher.requests);
+        publisher.subscriber.onNext("a");
+        publisher.subscriber.onNext("b");
+        assertEquals(Arrays.asList(4L), publisher.requests);
+        publisher.subscriber.onNext("c");
+        assertEquals(Arrays.asList(4L, 3L), publisher.requests);
+
+        /* Request and cancel belong to the subscription, they can be used after onNext. */
+        results.get(0).request(5);
+        assertEquals(Arrays.asList(4L, 3L, 5L), publisher.requests);
+
+        publisher.subscriber.onComplete();
+        assertEquals(Arrays.asList("a", "b", "c", null), values);
+        assertTrue(completed[0]);
+    }
+
+    @Test
+    public void testSubscriberCancelAndError() {
+        final TestPublisher publisher = new TestPublisher();
+        final List<StreamResult<String>> results = new ArrayList<>();
+        final List<Boolean> failures = new ArrayList<>();
+        final List<Boolean> completes = new ArrayList<>();
+        publisher.subscribe(ReactiveStreams.subscriber((Stream<String>) result -> {
+            results.add(result);
+            failures.add(result.failure());
+            completes.add(result.complete());
+        }));
+
+        publisher.subscriber.onError(new IllegalStateException("boom"));
+        assertEquals(Arrays.asList(true), failures);
+        assertEquals(Arrays.asList(true), completes);
+
+        publisher.subscriber.onNext("a");
+        results.get(1).cancel();
+        assertTrue(publisher.cancelled);
+        publisher.subscriber.onNext("b");
+        assertEquals(2, results.size());
+    }
+
+    @Test
+    public void testRoundTrip() {
+        final List<Integer> items = new ArrayList<>();
+        final boolean[] completed = new boolean[1];
+        ReactiveStreams.publisher(new RangeSource(1000)).subscribe(ReactiveStreams.subscriber(result -> {
+            if (result.get() != null) {
+                items.add(result.get());
+            }
+            completed[0] = result.complete();
+        }, 16));
+
+        assertEquals(1000, items.size());
+        assertEquals(999, (int) items.get(999));
+        assertTrue(completed[0]);
+    }
+
+    private static class RangeSource implements Consumer<Stream<Integer>> {
+        private final int count;
+        private final List<Long> requests = new ArrayList<>();
+        private Stream<Integer> stream;
+        private int next;
+        private boolean cancelled;
+
+        private RangeSource(final int count) {
+            this.count = count;
+        }
+
+        @Override
+        public void accept(final Stream<Integer> stream) {
+            this.stream = stream;
+            emit(1);
+        }
+
+        private void onRequest(final long n) {
+            requests.add(n);
+            emit(n);
+        }
+
+        private void emit(final long n) {
+            for (long i = 0; i < n && next < count && !cancelled; i++) {
+                final int item = next++;
+                stream.reply(item, next == count, () -> cancelled = true, this::onRequest);
+            }
+        }
+    }
+
+    private static class RecordingSubscriber<T> implements Subscriber<T> {
+        private final List<T> items = new ArrayList<>();
+        private Subscription subscription;
+        private Throwable error;
+        private boolean completed;
+
+        @Override
+        public void onSubscribe(final Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(final T item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(final Throwable error) {
+            this.error = error;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+
+    private static class TestPublisher implements Publisher<String> {
+        private final List<Long> requests = new ArrayList<>();
+        private Subscriber<? super String> subscriber;
+        private boolean cancelled;
+
+        @Override
+        public void subscribe(final Subscriber<? super String> subscriber) {
+            this.subscriber = subscriber;
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(final long n) {
+                    requests.add(n);
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled = true;
+                }
+            });
+        }
+    }
+}
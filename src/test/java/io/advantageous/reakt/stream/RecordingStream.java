@@ -0,0 +1,81 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.stream;
+
+import io.advantageous.reakt.Stream;
+import io.advantageous.reakt.StreamResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test consumer that records what a stream delivers, and sends items that record requests and cancels.
+ *
+ * @param <T> type of item
+ */
+public class RecordingStream<T> implements Stream<T> {
+
+    private final List<T> items = new ArrayList<>();
+    private final List<Long> requests = new ArrayList<>();
+    private Throwable error;
+    private boolean done;
+    private boolean cancelled;
+
+    @Override
+    public void onNext(final StreamResult<T> result) {
+        if (result.failure()) {
+            error = result.cause();
+            return;
+        }
+        if (result.get() != null) {
+            items.add(result.get());
+        }
+        done = result.complete();
+    }
+
+    /**
+     * Sends the values to the stream, recording the requests and the cancel of the stream.
+     */
+    @SafeVarargs
+    public final void send(final Stream<T> stream, final T... values) {
+        for (T value : values) {
+            stream.reply(value, false, () -> cancelled = true, requests::add);
+        }
+    }
+
+    public List<T> items() {
+        return items;
+    }
+
+    public List<Long> requests() {
+        return requests;
+    }
+
+    public Throwable error() {
+        return error;
+    }
+
+    public boolean done() {
+        return done;
+    }
+
+    public boolean cancelled() {
+        return cancelled;
+    }
+}
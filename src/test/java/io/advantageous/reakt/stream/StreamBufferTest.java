@@ -0,0 +1,139 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.stream;
+
+import io.advantageous.reakt.exception.StreamOverflowException;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class StreamBufferTest {
+
+    private final RecordingStream<Integer> recorder = new RecordingStream<>();
+
+    private StreamBuffer<Integer> buffer(final int capacity, final OverflowStrategy strategy) {
+        return StreamBuffer.streamBuffer(recorder, capacity, strategy);
+    }
+
+    @Test
+    public void testRequestsAsSpaceFreesUp() {
+        final StreamBuffer<Integer> buffer = buffer(4, OverflowStrategy.FAIL);
+        recorder.send(buffer, 1);
+        assertEquals(Arrays.asList(3L), recorder.requests());
+
+        recorder.send(buffer, 2, 3, 4);
+        assertEquals(4, buffer.size());
+        assertEquals(2, buffer.drain(2));
+        assertEquals(Arrays.asList(1, 2), recorder.items());
+        assertEquals(Arrays.asList(3L, 2L), recorder.requests());
+
+        buffer.complete(5);
+        assertEquals(3, buffer.drain());
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5), recorder.items());
+        assertTrue(recorder.done());
+        assertEquals(0, buffer.drain());
+    }
+
+    @Test
+    public void testDropNewest() {
+        final StreamBuffer<Integer> buffer = buffer(2, OverflowStrategy.DROP_NEWEST);
+        recorder.send(buffer, 1, 2, 3, 4);
+        buffer.drain();
+        assertEquals(Arrays.asList(1, 2), recorder.items());
+        assertEquals(2, buffer.dropped());
+    }
+
+    @Test
+    public void testDropOldest() {
+        final StreamBuffer<Integer> buffer = buffer(2, OverflowStrategy.DROP_OLDEST);
+        recorder.send(buffer, 1, 2, 3, 4);
+        buffer.drain();
+        assertEquals(Arrays.asList(3, 4), recorder.items());
+        assertEquals(2, buffer.dropped());
+    }
+
+    @Test
+    public void testConflateLatest() {
+        final StreamBuffer<Integer> buffer = buffer(3, OverflowStrategy.CONFLATE_LATEST);
+        recorder.send(buffer, 1, 2, 3, 4, 5);
+        buffer.drain();
+        assertEquals(Arrays.asList(1, 2, 5), recorder.items());
+        assertEquals(2, buffer.dropped());
+    }
+
+    @Test
+    public void testFail() {
+        final StreamBuffer<Integer> buffer = buffer(2, OverflowStrategy.FAIL);
+        recorder.send(buffer, 1, 2, 3);
+        assertTrue(recorder.cancelled());
+        recorder.send(buffer, 4);
+        buffer.drain();
+        assertEquals(Arrays.asList(1, 2), recorder.items());
+        assertTrue(recorder.error() instanceof StreamOverflowException);
+    }
+
+    @Test
+    public void testFailureAfterBufferedItems() {
+        final StreamBuffer<Integer> buffer = buffer(4, OverflowStrategy.FAIL);
+        recorder.send(buffer, 1, 2);
+        buffer.reject("boom");
+        assertNull(recorder.error());
+        buffer.drain();
+        assertEquals(Arrays.asList(1, 2), recorder.items());
+        assertEquals("boom", recorder.error().getMessage());
+    }
+
+    @Test
+    public void testCancelFromDownstream() {
+        final StreamBuffer<Integer> buffer = StreamBuffer.streamBuffer(result -> {
+            recorder.items().add(result.get());
+            result.cancel();
+        }, 4, OverflowStrategy.FAIL);
+        recorder.send(buffer, 1, 2, 3);
+        assertEquals(1, buffer.drain());
+        assertTrue(recorder.cancelled());
+        assertEquals(0, buffer.size());
+        assertEquals(0, buffer.drain());
+    }
+
+    @Test
+    public void testBlock() throws Exception {
+        final StreamBuffer<Integer> buffer = buffer(2, OverflowStrategy.BLOCK);
+        final CountDownLatch sent = new CountDownLatch(1);
+        final Thread producer = new Thread(() -> {
+            recorder.send(buffer, 1, 2, 3, 4);
+            sent.countDown();
+        });
+        producer.start();
+
+        assertFalse(sent.await(50, TimeUnit.MILLISECONDS));
+        while (recorder.items().size() < 4) {
+            buffer.drain(1);
+            Thread.sleep(1);
+        }
+        assertTrue(sent.await(1, TimeUnit.SECONDS));
+        producer.join();
+        assertEquals(Arrays.asList(1, 2, 3, 4), recorder.items());
+        assertEquals(0, buffer.dropped());
+    }
+}
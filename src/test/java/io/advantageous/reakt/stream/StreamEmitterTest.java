@@ -0,0 +1,120 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.stream;
+
+import io.advantageous.reakt.StreamResult;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class StreamEmitterTest {
+
+    @Test
+    public void testReusesOneResult() {
+        final List<StreamResult<String>> results = new ArrayList<>();
+        final List<String> values = new ArrayList<>();
+        final StreamEmitter<String> emitter = StreamEmitter.emitter(result -> {
+            results.add(result);
+            values.add(result.get());
+        }, null, null, false);
+
+        emitter.reply("a");
+        emitter.reply("b");
+        emitter.complete("c");
+
+        assertEquals(Arrays.asList("a", "b", "c"), values);
+        assertSame(results.get(0), results.get(1));
+        assertSame(results.get(1), results.get(2));
+    }
+
+    @Test
+    public void testHooksAreBoundOnce() {
+        final List<Long> requests = new ArrayList<>();
+        final boolean[] cancelled = new boolean[1];
+        final StreamResult<?>[] last = new StreamResult<?>[1];
+        final StreamEmitter<String> emitter = StreamEmitter.emitter(result -> last[0] = result,
+                () -> cancelled[0] = true, requests::add, false);
+
+        emitter.reply("a");
+        last[0].request(10);
+        last[0].cancel();
+
+        assertEquals(Arrays.asList(10L), requests);
+        assertTrue(cancelled[0]);
+    }
+
+    @Test
+    public void testReject() {
+        final boolean[] failed = new boolean[2];
+        final StreamEmitter<String> emitter = StreamEmitter.emitter(result -> {
+            failed[0] = result.failure();
+            failed[1] = result.complete();
+        }, null, null);
+
+        emitter.reject(new IllegalStateException("boom"));
+
+        assertTrue(failed[0]);
+        assertTrue(failed[1]);
+    }
+
+    @Test
+    public void testReentrantReplyDoesNotOverwrite() {
+        final List<String> values = new ArrayList<>();
+        final StreamEmitter<?>[] holder = new StreamEmitter<?>[1];
+        final StreamEmitter<String> emitter = StreamEmitter.emitter(result -> {
+            final String value = result.get();
+            if (value.equals("a")) {
+                @SuppressWarnings("unchecked")
+                final StreamEmitter<String> self = (StreamEmitter<String>) holder[0];
+                self.reply("b");
+            }
+            values.add(result.get());
+        }, null, null, false);
+        holder[0] = emitter;
+
+        emitter.reply("a");
+
+        assertEquals(Arrays.asList("b", "a"), values);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testDebugCatchesEscapedResult() {
+        final StreamResult<?>[] escaped = new StreamResult<?>[1];
+        final StreamEmitter<String> emitter = StreamEmitter.emitter(result -> escaped[0] = result,
+                null, null, true);
+
+        emitter.reply("a");
+        escaped[0].get();
+    }
+
+    @Test
+    public void testDebugUsesFreshResults() {
+        final List<StreamResult<String>> results = new ArrayList<>();
+        final StreamEmitter<String> emitter = StreamEmitter.emitter(results::add, null, null, true);
+
+        emitter.reply("a");
+        emitter.reply("b");
+
+        assertNotSame(results.get(0), results.get(1));
+    }
+}
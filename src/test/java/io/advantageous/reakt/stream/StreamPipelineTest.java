@@ -0,0 +1,162 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.stream;
+
+import io.advantageous.reakt.Stream;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class StreamPipelineTest {
+
+    private final List<Object> items = new ArrayList<>();
+    private final List<Long> requests = new ArrayList<>();
+    private boolean done;
+    private boolean cancelled;
+    private Throwable error;
+
+    private <T> Stream<T> sink() {
+        return result -> {
+            if (result.failure()) {
+                error = result.cause();
+                return;
+            }
+            if (result.get() != null) {
+                items.add(result.get());
+            }
+            done = result.complete();
+        };
+    }
+
+    private <T> void send(final Stream<T> stream, final List<T> values, final boolean complete) {
+        for (int index = 0; index < values.size(); index++) {
+            stream.reply(values.get(index), complete && index == values.size() - 1,
+                    () -> cancelled = true, requests::add);
+        }
+    }
+
+    @Test
+    public void testMapFilter() {
+        final Stream<Integer> stream = StreamPipeline.<Integer>pipeline()
+                .filter(value -> value % 2 == 0)
+                .map(value -> "#" + value)
+                .to(sink());
+
+        send(stream, Arrays.asList(1, 2, 3, 4), true);
+
+        assertEquals(Arrays.asList("#2", "#4"), items);
+        assertTrue(done);
+    }
+
+    @Test
+    public void testTakeCancelsUpstream() {
+        final Stream<Integer> stream = StreamPipeline.<Integer>pipeline().skip(1).take(2).to(sink());
+
+        send(stream, Arrays.asList(1, 2, 3, 4, 5), false);
+
+        assertEquals(Arrays.asList(2, 3), items);
+        assertTrue(done);
+        assertTrue(cancelled);
+    }
+
+    @Test
+    public void testScanAndDistinct() {
+        final Stream<Integer> stream = StreamPipeline.<Integer>pipeline()
+                .distinctUntilChanged()
+                .scan(0, (sum, value) -> sum + value)
+                .to(sink());
+
+        send(stream, Arrays.asList(1, 1, 2, 2, 3), true);
+
+        assertEquals(Arrays.asList(1, 3, 6), items);
+    }
+
+    @Test
+    public void testBufferFlushesOnComplete() {
+        final Stream<Integer> stream = StreamPipeline.<Integer>pipeline().buffer(2).to(sink());
+
+        send(stream, Arrays.asList(1, 2, 3), true);
+
+        assertEquals(Arrays.asList(Arrays.asList(1, 2), Collections.singletonList(3)), items);
+        assertTrue(done);
+    }
+
+    @Test
+    public void testBufferAfterTakeFlushes() {
+        final Stream<Integer> stream = StreamPipeline.<Integer>pipeline().take(3).buffer(2).to(sink());
+
+        send(stream, Arrays.asList(1, 2, 3, 4), false);
+
+        assertEquals(Arrays.asList(Arrays.asList(1, 2), Collections.singletonList(3)), items);
+        assertTrue(done);
+        assertTrue(cancelled);
+    }
+
+    @Test
+    public void testCompleteWithNothingLeft() {
+        final Stream<Integer> stream = StreamPipeline.<Integer>pipeline().filter(value -> false).to(sink());
+
+        send(stream, Arrays.asList(1, 2), true);
+
+        assertTrue(items.isEmpty());
+        assertTrue(done);
+    }
+
+    @Test
+    public void testOperatorFailureCancelsUpstream() {
+        final Stream<Integer> stream = StreamPipeline.<Integer>pipeline()
+                .map(value -> 10 / value)
+                .to(sink());
+
+        send(stream, Arrays.asList(1, 0, 2), false);
+
+        assertEquals(Arrays.asList(10), items);
+        assertTrue(error instanceof ArithmeticException);
+        assertTrue(cancelled);
+    }
+
+    @Test
+    public void testRequestAndCancelGoUpstream() {
+        final Stream<Integer> stream = StreamPipeline.<Integer>pipeline().map(value -> value + 1)
+                .to(result -> {
+                    result.request(5);
+                    result.cancel();
+                });
+
+        send(stream, Arrays.asList(1, 2), false);
+
+        assertEquals(Arrays.asList(5L), requests);
+        assertTrue(cancelled);
+    }
+
+    @Test
+    public void testPipelineIsReusable() {
+        final StreamPipeline<Integer, Integer> pipeline = StreamPipeline.<Integer>pipeline().take(1);
+
+        send(pipeline.to(sink()), Arrays.asList(1, 2), false);
+        send(pipeline.to(sink()), Arrays.asList(3, 4), false);
+
+        assertEquals(Arrays.asList(1, 3), items);
+    }
+}
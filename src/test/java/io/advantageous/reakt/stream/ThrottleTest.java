@@ -0,0 +1,156 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.stream;
+
+import io.advantageous.reakt.Stream;
+import io.advantageous.reakt.reactor.Reactor;
+import io.advantageous.reakt.reactor.impl.TestTimer;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ThrottleTest {
+
+    private final List<Integer> items = new ArrayList<>();
+    private TestTimer testTimer;
+    private Reactor reactor;
+    private boolean done;
+
+    @Before
+    public void before() {
+        testTimer = new TestTimer();
+        testTimer.setTime(10_000);
+        reactor = Reactor.reactor(Duration.ofSeconds(30), testTimer);
+        reactor.process();
+    }
+
+    private Stream<Integer> sink() {
+        return result -> {
+            if (result.get() != null) {
+                items.add(result.get());
+            }
+            done = result.complete();
+        };
+    }
+
+    private void advance(final long millis) {
+        testTimer.setTime(testTimer.getTime() + millis);
+        reactor.process();
+    }
+
+    @Test
+    public void testThrottleFirst() {
+        final Stream<Integer> stream = Throttle.throttleFirst(reactor, Duration.ofMillis(100), sink());
+        stream.reply(1);
+        stream.reply(2);
+        advance(50);
+        stream.reply(3);
+        advance(60);
+        stream.reply(4);
+        stream.reply(5);
+
+        assertEquals(Arrays.asList(1, 4), items);
+    }
+
+    @Test
+    public void testThrottleLast() {
+        final Stream<Integer> stream = Throttle.throttleLast(reactor, Duration.ofMillis(100), sink());
+        stream.reply(1);
+        stream.reply(2);
+        advance(50);
+        stream.reply(3);
+        assertTrue(items.isEmpty());
+
+        advance(51);
+        assertEquals(Arrays.asList(3), items);
+
+        advance(500);
+        assertEquals(Arrays.asList(3), items);
+        stream.reply(4);
+        advance(101);
+        assertEquals(Arrays.asList(3, 4), items);
+    }
+
+    @Test
+    public void testDebounce() {
+        final Stream<Integer> stream = Throttle.debounce(reactor, Duration.ofMillis(100), sink());
+        stream.reply(1);
+        advance(80);
+        stream.reply(2);
+        advance(30);
+        /* The first timer fired, but the stream was only quiet for 30ms. */
+        assertTrue(items.isEmpty());
+        advance(40);
+        assertTrue(items.isEmpty());
+        advance(40);
+        assertEquals(Arrays.asList(2), items);
+    }
+
+    @Test
+    public void testSample() {
+        final Stream<Integer> stream = Throttle.sample(reactor, Duration.ofMillis(100), sink());
+        stream.reply(1);
+        stream.reply(2);
+        advance(101);
+        assertEquals(Arrays.asList(2), items);
+
+        advance(101);
+        assertEquals(Arrays.asList(2), items);
+
+        stream.reply(3);
+        advance(101);
+        assertEquals(Arrays.asList(2, 3), items);
+    }
+
+    @Test
+    public void testCompleteSendsHeldItem() {
+        final Stream<Integer> stream = Throttle.debounce(reactor, Duration.ofMillis(100), sink());
+        stream.reply(1);
+        stream.complete(2);
+        assertEquals(Arrays.asList(2), items);
+        assertTrue(done);
+
+        advance(200);
+        assertEquals(Arrays.asList(2), items);
+    }
+
+    @Test
+    public void testFailureDropsHeldItem() {
+        final Throwable[] error = new Throwable[1];
+        final Stream<Integer> stream = Throttle.throttleLast(reactor, Duration.ofMillis(100), result -> {
+            if (result.failure()) {
+                error[0] = result.cause();
+            } else {
+                items.add(result.get());
+            }
+        });
+        stream.reply(1);
+        stream.reject("boom");
+        advance(200);
+
+        assertTrue(items.isEmpty());
+        assertEquals("boom", error[0].getMessage());
+    }
+}
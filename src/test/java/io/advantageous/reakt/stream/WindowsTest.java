@@ -0,0 +1,149 @@
+/*
+ *
+ *  Copyright (c) 2016. Rick Hightower, Geoff Chandler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package io.advantageous.reakt.stream;
+
+import io.advantageous.reakt.Stream;
+import io.advantageous.reakt.reactor.Reactor;
+import io.advantageous.reakt.reactor.impl.TestTimer;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class WindowsTest {
+
+    private final List<WindowStats> windows = new ArrayList<>();
+    private TestTimer testTimer;
+    private Reactor reactor;
+    private boolean done;
+
+    @Before
+    public void before() {
+        testTimer = new TestTimer();
+        testTimer.setTime(10_000);
+        reactor = Reactor.reactor(Duration.ofSeconds(30), testTimer);
+        reactor.process();
+    }
+
+    private Stream<WindowStats> sink() {
+        return result -> {
+            windows.add(result.get());
+            done = result.complete();
+        };
+    }
+
+    private void advance(final long millis) {
+        testTimer.setTime(testTimer.getTime() + millis);
+        reactor.process();
+    }
+
+    @Test
+    public void testTumbling() {
+        final Stream<Long> stream = Windows.tumbling(reactor, Duration.ofSeconds(1), Long::longValue, true, sink());
+        stream.reply(5L);
+        stream.reply(1L);
+        stream.reply(9L);
+        advance(500);
+        assertTrue(windows.isEmpty());
+
+        advance(501);
+        assertEquals(1, windows.size());
+        final WindowStats first = windows.get(0);
+        assertEquals(10_000, first.start());
+        assertEquals(11_000, first.end());
+        assertEquals(3, first.count());
+        assertEquals(15, first.sum());
+        assertEquals(1, first.min());
+        assertEquals(9, first.max());
+        assertEquals(9, first.histogram().get().valueAtPercentile(100));
+
+        stream.reply(2L);
+        advance(1001);
+        assertEquals(2, windows.size());
+        assertEquals(1, windows.get(1).count());
+        assertEquals(2, windows.get(1).sum());
+    }
+
+    @Test
+    public void testEmptyWindowsAreSent() {
+        Windows.tumbling(reactor, Duration.ofMillis(100), (Long value) -> value, false, sink());
+        advance(350);
+        advance(1);
+        assertEquals(3, windows.size());
+        assertEquals(0, windows.get(2).count());
+        assertFalse(windows.get(0).histogram().isPresent());
+    }
+
+    @Test
+    public void testItemAfterBoundaryGoesToNextWindow() {
+        final Stream<Long> stream = Windows.tumbling(reactor, Duration.ofMillis(100), Long::longValue, false,
+                sink());
+        stream.reply(1L);
+        testTimer.setTime(testTimer.getTime() + 150);
+        stream.reply(2L);
+
+        assertEquals(1, windows.size());
+        assertEquals(1, windows.get(0).sum());
+    }
+
+    @Test
+    public void testSliding() {
+        final Stream<Long> stream = Windows.sliding(reactor, Duration.ofMillis(300), Duration.ofMillis(100),
+                Long::longValue, false, sink());
+        stream.reply(1L);
+        testTimer.setTime(testTimer.getTime() + 100);
+        stream.reply(10L);
+        testTimer.setTime(testTimer.getTime() + 100);
+        stream.reply(100L);
+        testTimer.setTime(testTimer.getTime() + 100);
+        stream.reply(1000L);
+
+        assertEquals(3, windows.size());
+        assertEquals(1, windows.get(0).sum());
+        assertEquals(11, windows.get(1).sum());
+        assertEquals(111, windows.get(2).sum());
+        assertEquals(10_000, windows.get(2).start());
+        assertEquals(10_300, windows.get(2).end());
+
+        testTimer.setTime(testTimer.getTime() + 100);
+        stream.reply(0L);
+        assertEquals(1110, windows.get(3).sum());
+    }
+
+    @Test
+    public void testCompleteSendsOpenWindow() {
+        final Stream<Long> stream = Windows.tumbling(reactor, Duration.ofSeconds(1), Long::longValue, false,
+                sink());
+        stream.reply(3L);
+        testTimer.setTime(testTimer.getTime() + 200);
+        stream.complete(4L);
+
+        assertEquals(1, windows.size());
+        assertEquals(7, windows.get(0).sum());
+        assertEquals(10_200, windows.get(0).end());
+        assertTrue(done);
+
+        advance(2000);
+        assertEquals(1, windows.size());
+    }
+}